@@ -38,9 +38,8 @@ const Dashboard = () => {
         axios.get(`http://localhost:8080/api/transactions/${user?.id}`, {
           headers: { Authorization: `Bearer ${user.token}` },
         }),
-        axios.post(`http://127.0.0.1:5000/predict-expense`, {
-          userId: user.id,
-          token: user.token,
+        axios.get(`http://localhost:8080/api/forecast/expenses/${user?.id}`, {
+          headers: { Authorization: `Bearer ${user.token}` },
         }),
       ])
         .then(([dashboardRes, transactionsRes, predictRes]) => {
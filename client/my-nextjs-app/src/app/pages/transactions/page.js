@@ -48,9 +48,8 @@ const TransactionPage = () => {
         axios.get(`http://localhost:8080/api/transactions/${user.id}`, {
           headers: { Authorization: `Bearer ${user.token}` },
         }),
-        axios.post(`http://127.0.0.1:5000/detect-anomalies`, {
-          userId: user.id,
-          token: user.token,
+        axios.get(`http://localhost:8080/api/anomalies/${user.id}`, {
+          headers: { Authorization: `Bearer ${user.token}` },
         }),
       ])
         .then(([transactionsRes, anomaliesRes]) => {
@@ -1,6 +1,6 @@
 from flask import Flask, request, jsonify
 from flask_cors import CORS
-from utils import fetch_transactions, predict_expense, detect_anomalies, fetch_user_financial_data, generate_ai_financial_response
+from utils import fetch_transactions, fetch_expense_forecast, fetch_anomalies, fetch_user_financial_data, generate_ai_financial_response
 
 app = Flask(__name__)
 CORS(app)
@@ -14,8 +14,7 @@ def handle_predict_expense():
     token = data.get('token')
 
     try:
-        transactions = fetch_transactions(user_id, token)
-        result = predict_expense(transactions)
+        result = fetch_expense_forecast(user_id, token)
         return jsonify(result)
     except Exception as e:
         return jsonify({"error": str(e)}), 500
@@ -30,8 +29,7 @@ def handle_detect_anomalies():
     token = data.get('token')
 
     try:
-        transactions = fetch_transactions(user_id, token)
-        result = detect_anomalies(transactions)
+        result = fetch_anomalies(user_id, token)
         return jsonify(result)
     except Exception as e:
         return jsonify({"error": str(e)}), 500
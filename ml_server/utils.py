@@ -1,134 +1,165 @@
+import numpy as np
 import pandas as pd
-from sklearn.ensemble import RandomForestRegressor, IsolationForest
 import requests
-from dateutil.relativedelta import relativedelta
 import openai, os
 
 
-def fetch_transactions(user_id, token):
-    url = f"http://localhost:8080/api/transactions/{user_id}"
-    headers = {"Authorization": f"Bearer {token}"}
-    response = requests.get(url, headers=headers)
-    response.raise_for_status()
-    return response.json()
+# Transactions
+# Bulk reads use the Spring server's columnar export: fixed-width columns are mapped straight into
+# numpy arrays and category/type/status/payment method arrive dictionary-encoded (see
+# ColumnarTransactionWriter for the layout)
 
+COLUMNAR_MEDIA_TYPE = "application/vnd.finapp.transactions+columnar"
+NULL_LONG = np.iinfo(np.int64).min
+DICTIONARY_COLUMNS = ["category", "type", "status", "paymentMethod"]
 
-# Predict Expenses
 
-def predict_expense(transactions):
-    df = pd.DataFrame(transactions)
-    df['date'] = pd.to_datetime(df['date'])
-    df_expense = df[df['type'] == 'EXPENSE']
-
-    if df_expense.empty:
-        return {
-            "predicted_next_3_months_expense": [],
-            "total_expense_previous_months": 0.0,
-            "previous_months_expense": []
-        }
-
-    df_expense['year_month'] = df_expense['date'].dt.to_period('M')
-    monthly_expense = (
-        df_expense.groupby('year_month')['amount']
-        .sum()
-        .reset_index()
-        .sort_values('year_month')
-    )
-    monthly_expense['year_month'] = monthly_expense['year_month'].dt.to_timestamp()
-
-    # Save full month list before lag shift for accurate reporting
-    full_months_list = [
-        {"month": row['year_month'].strftime('%B %Y'), "amount": float(row['amount'])}
-        for _, row in monthly_expense.iterrows()
-    ]
-
-    if len(monthly_expense) < 4:
-        last_date = monthly_expense['year_month'].max()
-        last_amount = monthly_expense['amount'].iloc[-1]
-        return {
-            "predicted_next_3_months_expense": [
-                {"month": (last_date + relativedelta(months=i)).strftime('%B %Y'), "amount": float(last_amount)}
-                for i in range(1, 4)
-            ],
-            "total_expense_previous_months": float(monthly_expense['amount'].sum()),
-            "previous_months_expense": full_months_list
-        }
-
-    # Create lag features
-    WINDOW_SIZE = 3
-    for i in range(1, WINDOW_SIZE + 1):
-        monthly_expense[f'lag_{i}'] = monthly_expense['amount'].shift(i)
-
-    train_data = monthly_expense.dropna()
-
-    X = train_data[[f'lag_{i}' for i in range(WINDOW_SIZE, 0, -1)]]
-    y = train_data['amount']
-
-    model = RandomForestRegressor(n_estimators=100, random_state=42)
-    model.fit(X, y)
-
-    last_known_row = monthly_expense.iloc[-1]
-    last_known = [last_known_row['amount']] + [last_known_row[f'lag_{i}'] for i in range(1, WINDOW_SIZE)]
-
-    last_date = last_known_row['year_month']
-    predictions = []
-    for i in range(1, 4):
-        pred = model.predict([last_known[:WINDOW_SIZE]])[0]
-        future_month = (last_date + relativedelta(months=i)).strftime('%B %Y')
-        predictions.append({"month": future_month, "amount": float(pred)})
-        last_known = [pred] + last_known[:-1]
-
-    total_expense_previous_months = sum(item['amount'] for item in full_months_list)
-
-    return {
-        "predicted_next_3_months_expense": predictions,
-        "total_expense_previous_months": float(total_expense_previous_months),
-        "previous_months_expense": full_months_list
+def _read_int(view, pos):
+    return int.from_bytes(view[pos:pos + 4], "little", signed=True), pos + 4
+
+
+def read_transactions_columnar(payload):
+    """
+    Decode a columnar transaction export into a DataFrame with the same column names as the JSON
+    API. Amounts are floats (NaN when missing), dates datetime64 (NaT when missing) and the
+    dictionary-encoded columns pandas Categoricals.
+    """
+    view = memoryview(payload)
+    if bytes(view[:4]) != b"FTXC" or view[4] != 1:
+        raise ValueError("Not a version 1 columnar transaction export")
+    pos = 5
+    dictionaries = [[] for _ in DICTIONARY_COLUMNS]
+    longs, codes, descriptions = [], [], []
+    while True:
+        rows, pos = _read_int(view, pos)
+        if rows == 0:
+            break
+        for dictionary in dictionaries:
+            count, pos = _read_int(view, pos)
+            for _ in range(count):
+                length, pos = _read_int(view, pos)
+                dictionary.append(bytes(view[pos:pos + length]).decode("utf-8"))
+                pos += length
+        longs.append(np.frombuffer(view, dtype="<i8", count=4 * rows, offset=pos).reshape(4, rows))
+        pos += 32 * rows
+        codes.append(np.frombuffer(view, dtype="<i4", count=4 * rows, offset=pos).reshape(4, rows))
+        pos += 16 * rows
+        offsets = np.frombuffer(view, dtype="<i4", count=rows + 1, offset=pos)
+        pos += 4 * (rows + 1)
+        text = bytes(view[pos:pos + offsets[-1]])
+        pos += int(offsets[-1])
+        descriptions.extend(text[offsets[i]:offsets[i + 1]].decode("utf-8") for i in range(rows))
+
+    longs = np.concatenate(longs, axis=1) if longs else np.empty((4, 0), dtype=np.int64)
+    codes = np.concatenate(codes, axis=1) if codes else np.empty((4, 0), dtype=np.int32)
+    cents = longs[2]
+    columns = {
+        "id": longs[0],
+        "userId": longs[1],
+        "amount": np.where(cents == NULL_LONG, np.nan, cents / 100.0),
+        "description": descriptions,
+        # The null marker is numpy's NaT
+        "date": longs[3].view("datetime64[us]"),
     }
+    for name, column_codes, dictionary in zip(DICTIONARY_COLUMNS, codes, dictionaries):
+        columns[name] = pd.Categorical.from_codes(column_codes, categories=dictionary)
+    return pd.DataFrame(columns, columns=["id", "userId", "amount", "category", "description", "type", "date",
+                                          "status", "paymentMethod"])
+
+
+# Other users' data (cohort exports, training features) is only served to a SERVICE account, whose
+# credentials come from FINAPP_SERVICE_USERNAME and FINAPP_SERVICE_PASSWORD; a user's own token can
+# only export that user's transactions
+def fetch_service_token():
+    username = os.getenv("FINAPP_SERVICE_USERNAME")
+    password = os.getenv("FINAPP_SERVICE_PASSWORD")
+    if not username or not password:
+        raise RuntimeError("FINAPP_SERVICE_USERNAME and FINAPP_SERVICE_PASSWORD must be set for cohort reads")
+    response = requests.post("http://localhost:8080/api/auth/login",
+                             json={"username": username, "password": password})
+    response.raise_for_status()
+    return response.json()["token"]
 
 
-# Detect Anomalies
+def fetch_cohort_transactions(user_ids, token=None):
+    url = "http://localhost:8080/api/transactions/export"
+    headers = {"Authorization": f"Bearer {token or fetch_service_token()}", "Accept": COLUMNAR_MEDIA_TYPE}
+    response = requests.get(url, headers=headers, params={"userIds": ",".join(str(i) for i in user_ids)})
+    response.raise_for_status()
+    return read_transactions_columnar(response.content)
+
+
+def fetch_transactions(user_id, token):
+    return fetch_cohort_transactions([user_id], token)
 
-def detect_anomalies(transactions):
-    df = pd.DataFrame(transactions)
-    df['date'] = pd.to_datetime(df['date'])
-    df_expense = df[df['type'] == 'EXPENSE'] if 'type' in df.columns else df  # Optional type check
 
-    if len(df_expense) < 5:
-        return {"error": "Not enough data for anomaly detection."}
+def fetch_monthly_features(token=None, page_size=1000):
+    """
+    All users' monthly training features from the Spring server's feature table, one row per user
+    and month; spend per category becomes one spend_<category> column each.
+    """
+    url = "http://localhost:8080/api/features/monthly"
+    headers = {"Authorization": f"Bearer {token or fetch_service_token()}"}
+    rows = []
+    cursor = None
+    while True:
+        params = {"size": page_size}
+        if cursor is not None:
+            params["cursor"] = cursor
+        response = requests.get(url, headers=headers, params=params)
+        response.raise_for_status()
+        page = response.json()
+        for user in page["users"]:
+            for month in user["months"]:
+                row = {key: value for key, value in month.items() if key != "categorySpend"}
+                row["userId"] = user["userId"]
+                row.update({f"spend_{category}": amount for category, amount in month["categorySpend"].items()})
+                rows.append(row)
+        if not page["hasMore"]:
+            break
+        cursor = page["nextCursor"]
+    frame = pd.DataFrame(rows)
+    spend_columns = [column for column in frame.columns if column.startswith("spend_")]
+    frame[spend_columns] = frame[spend_columns].fillna(0.0)
+    return frame
 
-    typical_amount = df_expense['amount'].median()  # or use mean()
 
-    model = IsolationForest(contamination=0.2, random_state=42)
-    df_expense['anomaly'] = model.fit_predict(df_expense[['amount']])
+# Predict Expenses
+# The forecast is served by the Spring server from its in-memory monthly series (same response shape)
 
-    anomalies = df_expense[df_expense['anomaly'] == -1][['id', 'amount', 'category', 'date']]
-    anomalies['overspent'] = anomalies['amount'] - typical_amount
-    anomalies['date'] = anomalies['date'].astype(str)
+def fetch_expense_forecast(user_id, token):
+    url = f"http://localhost:8080/api/forecast/expenses/{user_id}"
+    headers = {"Authorization": f"Bearer {token}"}
+    response = requests.get(url, headers=headers)
+    response.raise_for_status()
+    return response.json()
 
-    return anomalies.to_dict(orient='records')
+
+# Detect Anomalies
+# Expenses are flagged by the Spring server as they are written; this returns the stored flags
+
+def fetch_anomalies(user_id, token):
+    url = f"http://localhost:8080/api/anomalies/{user_id}"
+    headers = {"Authorization": f"Bearer {token}"}
+    response = requests.get(url, headers=headers)
+    response.raise_for_status()
+    return response.json()
 
 
 # Chat Logic
 
 openai.api_key = os.getenv("OPENAI_API_KEY")
 
-# Function 1: Fetch financial data from Spring Boot backend
+# Function 1: Fetch the user's financial context from Spring Boot backend
 def fetch_user_financial_data(user_id, token):
     """
-    Fetch all relevant user financial data from the backend.
+    Fetch the user's precomputed financial context (totals, budgets vs spent, goal progress, top
+    categories and notable expenses); the backend caches it until the user's data changes.
     """
     headers = {"Authorization": f"Bearer {token}"}
-    
-    transactions = requests.get(f"http://localhost:8080/api/transactions/{user_id}", headers=headers).json()
-    budgets = requests.get(f"http://localhost:8080/api/budgets/{user_id}", headers=headers).json()
-    savings_goals = requests.get(f"http://localhost:8080/api/goals/{user_id}", headers=headers).json()
-    
-    return {
-        "transactions": transactions,
-        "budgets": budgets,
-        "savings_goals": savings_goals
-    }
+    response = requests.get(f"http://localhost:8080/api/chat/context/{user_id}", headers=headers)
+    response.raise_for_status()
+    return response.json()
 
 
 # Function 2: Generate AI response using OpenAI
@@ -141,9 +172,7 @@ def generate_ai_financial_response(user_data, user_message):
     prompt = f"""
         You are a helpful financial assistant. The user's financial data is below:
 
-        Transactions: {user_data['transactions']}
-        Budgets: {user_data['budgets']}
-        Savings Goals: {user_data['savings_goals']}
+        {user_data['summary']}
 
         The user asked: "{user_message}"
 
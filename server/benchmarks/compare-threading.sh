@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread request handling under the same closed-loop load.
+# Boots the demo server with the "local" profile once per mode against the same seeded H2
+# database, runs LoadScenario at CONCURRENCY clients, and leaves one JSON report per mode in target/.
+#
+# Needs a Java 21 runtime on the PATH (virtual threads are ignored on older JVMs) and both jars built
+# with the java21 profile:
+#   (cd ../demo && ./mvnw install -Pjava21 -Dmaven.test.skip=true) && mvn package -Pjava21
+#
+# Knobs: CONCURRENCY (1000), DURATION seconds (60), USERS (10000), DB_POOL_SIZE (20), TOMCAT_MAX_THREADS (200)
+set -euo pipefail
+
+cd "$(dirname "$0")"
+CONCURRENCY=${CONCURRENCY:-1000}
+DURATION=${DURATION:-60}
+USERS=${USERS:-10000}
+DB_PATH=${DB_PATH:-$PWD/target/load-db/finapp}
+SERVER_JAR=../demo/target/demo-0.0.1-SNAPSHOT-exec.jar
+
+java_major=$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+if [ "${java_major%%.*}" -lt 21 ]; then
+    echo "Java 21+ is required for the virtual-thread run (found $java_major)" >&2
+    exit 1
+fi
+
+run_mode() {
+    local mode=$1 virtual=$2
+    echo "== $mode threads: $CONCURRENCY clients for ${DURATION}s"
+    LOCAL_DB_PATH=$DB_PATH VIRTUAL_THREADS=$virtual \
+        java -Djdk.tracePinnedThreads=short -jar "$SERVER_JAR" \
+        --spring.profiles.active=local --datagen.users="$USERS" > "target/server-$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+
+    # The first boot also generates the data set, which can take a few minutes
+    until curl -sf localhost:8081/actuator/health > /dev/null; do
+        kill -0 $pid 2>/dev/null || { echo "Server exited, see target/server-$mode.log" >&2; exit 1; }
+        sleep 2
+    done
+    while ! grep -qE "\[DATAGEN\] (Generated|.*already present)" "target/server-$mode.log"; do
+        sleep 2
+    done
+
+    java -cp target/benchmarks.jar com.example.benchmarks.LoadScenario \
+        --users="$USERS" --concurrency="$CONCURRENCY" --duration="$DURATION" --out="target/load-$mode.json" > /dev/null
+    curl -s localhost:8081/actuator/prometheus | grep -E "^(hikaricp_connections_pending|app_threads_virtual_pinned_total) " \
+        > "target/metrics-$mode.txt" || true
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+    trap - EXIT
+}
+
+mkdir -p target
+run_mode platform false
+run_mode virtual true
+
+for mode in platform virtual; do
+    echo "== $mode"
+    grep -E '"(dashboard|budgets|recent|addTransaction)"|throughputPerSecond|p99Ms|errors' "target/load-$mode.json"
+done
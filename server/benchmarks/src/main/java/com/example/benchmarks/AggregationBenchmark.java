@@ -0,0 +1,80 @@
+package com.example.benchmarks;
+
+import com.example.demo.model.Transaction;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// In-memory totals over transaction amounts: the BigDecimal stream style used around the
+// codebase, a plain loop, and summing unscaled cents as longs
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int rows;
+
+    private List<Transaction> transactions;
+    private long[] cents;
+
+    @Setup
+    public void setUp() {
+        transactions = SerializationBenchmark.transactions(rows);
+        cents = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            // Amounts are generated with scale 2
+            cents[i] = transactions.get(i).getAmount().unscaledValue().longValueExact();
+        }
+    }
+
+    @Benchmark
+    public BigDecimal streamReduce() {
+        return transactions.stream()
+                .map(Transaction::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal loopSum() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Transaction transaction : transactions) {
+            total = total.add(transaction.getAmount());
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal longCentsSum() {
+        long total = 0;
+        for (long value : cents) {
+            total += value;
+        }
+        return BigDecimal.valueOf(total, 2);
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> groupByCategoryStream() {
+        return transactions.stream()
+                .collect(Collectors.groupingBy(Transaction::getCategory,
+                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)));
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> groupByCategoryMerge() {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            totals.merge(transaction.getCategory(), transaction.getAmount(), BigDecimal::add);
+        }
+        return totals;
+    }
+}
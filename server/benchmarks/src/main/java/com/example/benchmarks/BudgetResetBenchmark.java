@@ -0,0 +1,92 @@
+package com.example.benchmarks;
+
+import com.example.demo.model.Budget;
+import com.example.demo.model.User;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.service.BudgetService;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// CPU cost of the budget period checks. The repository is an in-memory stub and events go nowhere,
+// so the numbers exclude the database and isolate the service logic that runs on every budget write.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BudgetResetBenchmark {
+
+    private BudgetService budgetService;
+    private Budget currentBudget;
+    private Budget staleBudget;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        User user = new User();
+        user.setId(1L);
+
+        currentBudget = budget(user, 1L, LocalDate.now().withDayOfMonth(1));
+        staleBudget = budget(user, 2L, LocalDate.now().minusMonths(2).withDayOfMonth(1));
+
+        budgetService = new BudgetService();
+        Field repository = BudgetService.class.getDeclaredField("budgetRepository");
+        repository.setAccessible(true);
+        repository.set(budgetService, stubRepository());
+        Field eventPublisher = BudgetService.class.getDeclaredField("eventPublisher");
+        eventPublisher.setAccessible(true);
+        eventPublisher.set(budgetService, (ApplicationEventPublisher) event -> {
+        });
+    }
+
+    @Benchmark
+    public boolean needsResetCurrent() {
+        return budgetService.budgetNeedsReset(currentBudget);
+    }
+
+    @Benchmark
+    public boolean needsResetStale() {
+        return budgetService.budgetNeedsReset(staleBudget);
+    }
+
+    // Write path with checkAndResetBudget finding nothing to do
+    @Benchmark
+    public Budget updateSpentCurrent() {
+        return budgetService.updateSpentAmount(1L, 1L, BigDecimal.TEN);
+    }
+
+    // Write path where checkAndResetBudget rolls the budget into the current period
+    @Benchmark
+    public Budget updateSpentStale() {
+        staleBudget.setLastResetDate(LocalDate.now().minusMonths(2).withDayOfMonth(1));
+        return budgetService.updateSpentAmount(1L, 2L, BigDecimal.TEN);
+    }
+
+    private static Budget budget(User user, Long id, LocalDate lastResetDate) {
+        Budget budget = new Budget(user, "Groceries", new BigDecimal("500.00"), null, "monthly");
+        budget.setId(id);
+        budget.setSpentAmount(new BigDecimal("120.00"));
+        budget.setLastResetDate(lastResetDate);
+        return budget;
+    }
+
+    // findById returns one of the two fixtures and save returns its argument
+    private BudgetRepository stubRepository() {
+        return (BudgetRepository) Proxy.newProxyInstance(
+                BudgetRepository.class.getClassLoader(),
+                new Class<?>[]{BudgetRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.of(Long.valueOf(1L).equals(args[0]) ? currentBudget : staleBudget);
+                    case "save" -> args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.benchmarks;
+
+import com.example.demo.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of authenticating a bearer token, before and after the JwtUtil changes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET_KEY = "q3K9H7FxlcV9A4Z8D1T+3wI5M0N9P2L1O7J5E3Q8R6Y+5A4T3L2N7V6M0X1P8Q9J";
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtil = new JwtUtil(10_000);
+        uncachedJwtUtil = new JwtUtil(0);
+        token = cachedJwtUtil.generateToken("bench-user");
+    }
+
+    // What JwtFilter used to do: extractUsername, then validateToken (extractUsername +
+    // isTokenExpired), each decoding the key and building a fresh parser
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = legacyClaims(token).getSubject();
+        return legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public String singleParseUncached() {
+        return uncachedJwtUtil.parseToken(token).getSubject();
+    }
+
+    @Benchmark
+    public String singleParseCached() {
+        return cachedJwtUtil.parseToken(token).getSubject();
+    }
+
+    // What JwtFilter does per request once the token has been seen
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachedJwtUtil.validateToken(token, "bench-user");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwtUtil.generateToken("bench-user");
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Closed-loop HTTP load test against a running server, usually the "local" profile seeded by
+ * SyntheticDataGenerator. Each client logs in as one of loaduser1..N and then loops over a
+ * weighted mix of dashboard, budget, recent-transaction and add-transaction calls until the
+ * duration elapses. Prints throughput and p50/p95/p99 latency per endpoint.
+ *
+ *   java -cp target/benchmarks.jar com.example.benchmarks.LoadScenario \
+ *       --baseUrl=http://localhost:8080 --users=10000 --concurrency=64 --duration=60 --out=target/load.json
+ */
+public class LoadScenario {
+
+    // Endpoint name and relative weight in the mix
+    private static final String[][] MIX = {
+            {"dashboard", "40"},
+            {"budgets", "25"},
+            {"recent", "25"},
+            {"addTransaction", "10"},
+    };
+    private static final String[] CATEGORIES = {"Groceries", "Dining", "Transport", "Entertainment", "Shopping"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int users;
+
+    LoadScenario(String baseUrl, int users, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(2, concurrency / 4)))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        String baseUrl = options.getOrDefault("baseUrl", "http://localhost:8080");
+        int users = Integer.parseInt(options.getOrDefault("users", "1000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        String out = options.get("out");
+
+        LoadScenario scenario = new LoadScenario(baseUrl, users, concurrency);
+        Map<String, Object> report = scenario.run(concurrency, Duration.ofSeconds(durationSeconds));
+
+        ObjectMapper printer = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        System.out.println(printer.writeValueAsString(report));
+        if (out != null) {
+            printer.writeValue(new File(out), report);
+        }
+        System.exit(0);
+    }
+
+    Map<String, Object> run(int concurrency, Duration duration) throws InterruptedException {
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        recorders.put("login", new Recorder());
+        for (String[] entry : MIX) {
+            recorders.put(entry[0], new Recorder());
+        }
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.submit(() -> worker(recorders, deadline));
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("baseUrl", baseUrl);
+        report.put("users", users);
+        report.put("concurrency", concurrency);
+        report.put("durationSeconds", duration.toSeconds());
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        recorders.forEach((name, recorder) -> endpoints.put(name, recorder.summary(duration)));
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private void worker(Map<String, Recorder> recorders, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Session session = null;
+        while (System.nanoTime() < deadline) {
+            try {
+                if (session == null) {
+                    session = login(recorders.get("login"), "loaduser" + (1 + random.nextInt(users)));
+                    continue;
+                }
+                String endpoint = pick(random);
+                HttpRequest request = buildRequest(endpoint, session, random);
+                Recorder recorder = recorders.get(endpoint);
+                long start = System.nanoTime();
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                recorder.record(System.nanoTime() - start, response.statusCode());
+                if (response.statusCode() == 401 || response.statusCode() == 403) {
+                    session = null;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Connection failures count against login until a session exists
+                recorders.get("login").recordError();
+                session = null;
+            }
+        }
+    }
+
+    private Session login(Recorder recorder, String username) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("username", username, "password", "password"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        recorder.record(System.nanoTime() - start, response.statusCode());
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        JsonNode json = objectMapper.readTree(response.body());
+        return new Session(json.get("token").asText(), json.get("id").asText());
+    }
+
+    private HttpRequest buildRequest(String endpoint, Session session, ThreadLocalRandom random) throws IOException {
+        HttpRequest.Builder builder;
+        switch (endpoint) {
+            case "dashboard":
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/dashboard/" + session.userId)).GET();
+                break;
+            case "budgets":
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/budgets/" + session.userId)).GET();
+                break;
+            case "recent":
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/transactions/recent?userId="
+                        + session.userId + "&limit=10")).GET();
+                break;
+            case "addTransaction":
+                Map<String, Object> transaction = new HashMap<>();
+                transaction.put("amount", String.format(Locale.ROOT, "%.2f", 5 + random.nextDouble() * 95));
+                transaction.put("category", CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                transaction.put("description", "Load test");
+                transaction.put("type", "EXPENSE");
+                transaction.put("status", "completed");
+                transaction.put("paymentMethod", "credit card");
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/transactions/add"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(transaction)));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+        }
+        return builder.header("Authorization", "Bearer " + session.token)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private static String pick(ThreadLocalRandom random) {
+        int total = 0;
+        for (String[] entry : MIX) {
+            total += Integer.parseInt(entry[1]);
+        }
+        int roll = random.nextInt(total);
+        for (String[] entry : MIX) {
+            roll -= Integer.parseInt(entry[1]);
+            if (roll < 0) {
+                return entry[0];
+            }
+        }
+        return MIX[0][0];
+    }
+
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+
+    private static final class Session {
+        final String token;
+        final String userId;
+
+        Session(String token, String userId) {
+            this.token = token;
+            this.userId = userId;
+        }
+    }
+
+    // Keeps every sample; a 60 s run at a few thousand requests per second fits comfortably in memory
+    static final class Recorder {
+        private final List<Long> latenciesNanos = new ArrayList<>();
+        private long errors;
+
+        synchronized void record(long nanos, int status) {
+            latenciesNanos.add(nanos);
+            if (status >= 400) {
+                errors++;
+            }
+        }
+
+        synchronized void recordError() {
+            errors++;
+        }
+
+        synchronized Map<String, Object> summary(Duration duration) {
+            long[] sorted = latenciesNanos.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", sorted.length);
+            summary.put("errors", errors);
+            summary.put("throughputPerSecond", Math.round(sorted.length * 10.0 / duration.toSeconds()) / 10.0);
+            summary.put("p50Ms", percentileMillis(sorted, 0.50));
+            summary.put("p95Ms", percentileMillis(sorted, 0.95));
+            summary.put("p99Ms", percentileMillis(sorted, 0.99));
+            summary.put("maxMs", sorted.length > 0 ? sorted[sorted.length - 1] / 1_000_000.0 : 0.0);
+            return summary;
+        }
+
+        static double percentileMillis(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
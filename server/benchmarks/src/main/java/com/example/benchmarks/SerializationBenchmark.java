@@ -0,0 +1,112 @@
+package com.example.benchmarks;
+
+import com.example.demo.dto.DashboardSummaryDTO;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.User;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response-body cost of the transaction listing and dashboard endpoints, serialized with
+// the same settings Spring Boot applies to its ObjectMapper
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final String[] CATEGORIES = {"Food", "Rent", "Travel", "Utilities", "Salary", "Entertainment"};
+
+    @Param({"100", "10000", "100000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private List<Transaction> transactions;
+    private List<TransactionDTO> transactionDTOs;
+    private DashboardSummaryDTO summary;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        transactions = transactions(rows);
+        transactionDTOs = transactions.stream().map(TransactionDTO::from).toList();
+        summary = new DashboardSummaryDTO(new BigDecimal("52000.00"), new BigDecimal("31000.00"),
+                new BigDecimal("21000.00"), transactionDTOs);
+    }
+
+    // Entity serialization with the embedded user, as the endpoints did before TransactionDTO
+    @Benchmark
+    public long transactionEntityList() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, transactions);
+        return out.count;
+    }
+
+    @Benchmark
+    public long transactionDtoList() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, transactionDTOs);
+        return out.count;
+    }
+
+    @Benchmark
+    public long dashboardSummary() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, summary);
+        return out.count;
+    }
+
+    static List<Transaction> transactions(int count) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("bench-user");
+        user.setEmail("bench@example.com");
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        List<Transaction> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = new Transaction(user,
+                    BigDecimal.valueOf(100 + (i * 37L) % 90_000, 2),
+                    CATEGORIES[i % CATEGORIES.length],
+                    "Transaction " + i,
+                    i % 5 == 0 ? "INCOME" : "EXPENSE",
+                    start.plusMinutes(i * 13L),
+                    "completed",
+                    "card");
+            transaction.setId((long) i + 1);
+            list.add(transaction);
+        }
+        return list;
+    }
+
+    // Measures encoding only; the bytes are discarded
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+// Regions for the second-level entity cache (the @Cache regions on User, Budget and Goal) and the
+// query cache. Every region is declared here and missing_cache_strategy=fail, so an entity
+// annotated with an unknown region fails at startup instead of silently getting a default cache.
+// Hibernate keeps entries current on its own write paths, including bulk JPQL updates such as
+// the spent/saved increments; writes through JdbcTemplate bypass it and must evict explicitly.
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final String USER_REGION = "user";
+    private static final String BUDGET_REGION = "budget";
+    private static final String GOAL_REGION = "goal";
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            MeterRegistry meterRegistry,
+            @Value("${cache.l2.entity-max-size:20000}") long entityMaxSize,
+            @Value("${cache.l2.query-max-size:20000}") long queryMaxSize,
+            @Value("${cache.l2.ttl-seconds:600}") long ttlSeconds) {
+        return properties -> {
+            // A provider instance per session factory, so test contexts never share regions;
+            // Hibernate closes the manager when the session factory closes
+            CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+            createRegion(cacheManager, meterRegistry, USER_REGION, entityMaxSize, ttlSeconds);
+            createRegion(cacheManager, meterRegistry, BUDGET_REGION, entityMaxSize, ttlSeconds);
+            createRegion(cacheManager, meterRegistry, GOAL_REGION, entityMaxSize, ttlSeconds);
+            createRegion(cacheManager, meterRegistry, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                    queryMaxSize, ttlSeconds);
+            // Query results are checked against these per-table timestamps; losing one would let a
+            // stale result through, so this region is neither sized nor expired
+            createRegion(cacheManager, meterRegistry, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                    0, 0);
+
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, MeterRegistry meterRegistry, String name,
+                                     long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        configuration.setStatisticsEnabled(true);
+        JCacheMetrics.monitor(meterRegistry, cacheManager.createCache(name, configuration));
+    }
+}
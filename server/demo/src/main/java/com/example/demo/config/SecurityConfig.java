@@ -1,6 +1,9 @@
 package com.example.demo.config;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -27,7 +30,9 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable()) // Disable CSRF for simplicity
             .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Enable CORS
             .authorizeHttpRequests(auth -> auth
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Resumes a request that was already authorized (event streams)
                 .requestMatchers("/api/auth/**").permitAll() // Public endpoints
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll() // Actuator, bound to the loopback management port
                 .anyRequest().authenticated() // Require authentication for all other endpoints
             )
             .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
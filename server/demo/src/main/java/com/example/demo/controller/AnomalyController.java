@@ -0,0 +1,37 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.AnomalyDTO;
+import com.example.demo.service.AnomalyDetectionService;
+import com.example.demo.service.DataVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/anomalies")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AnomalyController {
+
+    @Autowired
+    private AnomalyDetectionService anomalyDetectionService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    // Expenses flagged when they were written; flags only change with transactions, hence that version
+    @GetMapping("/{userId}")
+    public ResponseEntity<List<AnomalyDTO>> getAnomalies(@PathVariable Long userId, WebRequest request) {
+        String etag = dataVersionService.etag(userId, DataVersionService.Resource.TRANSACTIONS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(anomalyDetectionService.getAnomalies(userId));
+    }
+}
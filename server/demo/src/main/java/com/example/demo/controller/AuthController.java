@@ -27,6 +27,8 @@ public class AuthController {
 
     @PostMapping("/signup")
     public ResponseEntity<?> signup(@RequestBody User user) {
+        // Roles are granted in the users table (SERVICE for ml_server and batch jobs), not chosen here
+        user.setRole("USER");
         userService.registerUser(user);
         return ResponseEntity.ok("User registered successfully!");
     }
@@ -39,7 +41,7 @@ public class AuthController {
             System.out.println("Invalid credentials for user: " + loginRequest.getUsername());
             return ResponseEntity.status(401).body("Invalid credentials");
         }
-        String token = jwtUtil.generateToken(loginRequest.getUsername());
+        String token = jwtUtil.generateToken(foundUser);
 
         Map<String, String> store = new HashMap<>(); 
         store.put("token", token); 
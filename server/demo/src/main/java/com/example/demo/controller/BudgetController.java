@@ -1,11 +1,17 @@
 package com.example.demo.controller;
 
 import com.example.demo.model.Budget;
+import com.example.demo.service.BudgetPostingService;
 import com.example.demo.service.BudgetService;
+import com.example.demo.service.DataVersionService;
+import com.example.demo.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -20,14 +26,30 @@ public class BudgetController {
     @Autowired
     private BudgetService budgetService;
 
-    // Get all budgets for a specific user (with auto-reset applied)
+    @Autowired
+    private BudgetPostingService budgetPostingService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private UserService userService;
+
+    // Get all budgets for a specific user (with auto-reset applied); conditional on the budget version
     @GetMapping("/{userId}")
-    public ResponseEntity<List<Budget>> getAllBudgets(@PathVariable Long userId) {
+    public ResponseEntity<List<Budget>> getAllBudgets(@PathVariable Long userId, WebRequest request) {
+        String etag = dataVersionService.etag(userId, DataVersionService.Resource.BUDGETS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<Budget> budgets = budgetService.getBudgetsByUserId(userId);
         if (budgets.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
-        return ResponseEntity.ok(budgets);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(budgets);
     }
 
     // Get a specific budget for a user by ID (with auto-reset applied)
@@ -129,6 +151,35 @@ public class BudgetController {
         }
     }
 
+    // Recompute a user's spent amounts from their transactions (admin/repair)
+    @PostMapping("/admin/reconcile/{userId}")
+    public ResponseEntity<?> reconcileUser(@PathVariable Long userId) {
+        if (!userService.isService(SecurityContextHolder.getContext().getAuthentication())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only service accounts may reconcile budgets");
+        }
+        int corrected = budgetPostingService.reconcileUser(userId);
+        return ResponseEntity.ok(Map.of("userId", userId, "corrected", corrected));
+    }
+
+    // Recompute every user's spent amounts from their transactions (admin/repair)
+    @PostMapping("/admin/reconcile")
+    public ResponseEntity<?> reconcileAll() {
+        if (!userService.isService(SecurityContextHolder.getContext().getAuthentication())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only service accounts may reconcile budgets");
+        }
+        int corrected = budgetPostingService.reconcileAll();
+        return ResponseEntity.ok(Map.of("corrected", corrected));
+    }
+
+    // Queue depth and counters of the expense posting pipeline
+    @GetMapping("/admin/posting/stats")
+    public ResponseEntity<?> getPostingStats() {
+        if (!userService.isService(SecurityContextHolder.getContext().getAuthentication())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only service accounts may read posting stats");
+        }
+        return ResponseEntity.ok(budgetPostingService.getStats());
+    }
+
     // Delete a budget
     @DeleteMapping("/{userId}/{budgetId}")
     public ResponseEntity<?> deleteBudget(@PathVariable Long userId, @PathVariable Long budgetId) {
@@ -0,0 +1,32 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ChatContextDTO;
+import com.example.demo.service.ChatContextService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/chat")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ChatContextController {
+
+    @Autowired
+    private ChatContextService chatContextService;
+
+    // Totals, budgets, goals, top categories and notable expenses for the assistant's prompt
+    @GetMapping("/context/{userId}")
+    public ResponseEntity<ChatContextDTO> getContext(@PathVariable Long userId, WebRequest request) {
+        String etag = chatContextService.version(userId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(chatContextService.getContext(userId));
+    }
+}
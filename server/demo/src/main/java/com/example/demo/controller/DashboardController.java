@@ -1,9 +1,15 @@
 package com.example.demo.controller;
 
 import com.example.demo.dto.DashboardSummaryDTO;
+import com.example.demo.service.DataVersionService;
 import com.example.demo.service.DashboardService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -13,8 +19,34 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    // Conditional GET over all three resources the summary is built from
     @GetMapping("/{userId}")
-    public DashboardSummaryDTO getDashboardSummary(@PathVariable String userId) {
-        return dashboardService.getDashboardSummary(Long.parseLong(userId));
+    public ResponseEntity<DashboardSummaryDTO> getDashboardSummary(@PathVariable String userId, WebRequest request) {
+        Long id = Long.parseLong(userId);
+        String etag = dataVersionService.etag(id, DataVersionService.Resource.TRANSACTIONS,
+                DataVersionService.Resource.BUDGETS, DataVersionService.Resource.GOALS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        DashboardSummaryDTO summary = dashboardService.getDashboardSummary(id);
+        if (summary.isPartial()) {
+            // A partial summary must not be stored under the version's ETag, or the client would keep
+            // revalidating it as current; a full response cached earlier stays valid
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(summary);
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(summary);
+    }
+
+    // Hit/miss counters for the per-user totals cache
+    @GetMapping("/cache/stats")
+    public Map<String, Object> getCacheStats() {
+        return dashboardService.getCacheStats();
     }
 }
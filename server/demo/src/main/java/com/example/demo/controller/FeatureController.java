@@ -0,0 +1,51 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.UserFeatureJob;
+import com.example.demo.service.UserFeatureService;
+import com.example.demo.service.UserService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/features")
+@CrossOrigin(origins = "http://localhost:3000")
+public class FeatureController {
+
+    @Autowired
+    private UserFeatureService userFeatureService;
+
+    @Autowired
+    private UserFeatureJob userFeatureJob;
+
+    @Autowired
+    private UserService userService;
+
+    // Users in id order with their monthly features; pass nextCursor back as cursor for the next page.
+    // Every user's features, so service accounts only, as for the cohort transaction export.
+    @GetMapping("/monthly")
+    public ResponseEntity<?> getMonthlyFeatures(@RequestParam(required = false) Long cursor,
+                                                @RequestParam(defaultValue = "100") int size) {
+        if (!userService.isService(SecurityContextHolder.getContext().getAuthentication())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only service accounts may read training features");
+        }
+        return ResponseEntity.ok(userFeatureService.getPage(cursor, size));
+    }
+
+    @PostMapping("/admin/rebuild")
+    public ResponseEntity<?> rebuild() {
+        if (!userService.isService(SecurityContextHolder.getContext().getAuthentication())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only service accounts may rebuild training features");
+        }
+        Map<String, Object> stats = userFeatureJob.run();
+        if (stats == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("A feature rebuild is already running");
+        }
+        return ResponseEntity.ok(stats);
+    }
+}
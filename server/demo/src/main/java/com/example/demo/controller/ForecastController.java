@@ -0,0 +1,35 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ExpenseForecastDTO;
+import com.example.demo.service.DataVersionService;
+import com.example.demo.service.ExpenseForecastService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/forecast")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ForecastController {
+
+    @Autowired
+    private ExpenseForecastService expenseForecastService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    // Next three months of expenses; same response shape as ml_server's POST /predict-expense
+    @GetMapping("/expenses/{userId}")
+    public ResponseEntity<ExpenseForecastDTO> getExpenseForecast(@PathVariable Long userId, WebRequest request) {
+        String etag = dataVersionService.etag(userId, DataVersionService.Resource.TRANSACTIONS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(expenseForecastService.getForecast(userId));
+    }
+}
@@ -3,15 +3,18 @@ package com.example.demo.controller;
 import com.example.demo.model.Goal;
 import com.example.demo.model.Transaction;
 import com.example.demo.model.User;
+import com.example.demo.service.DataVersionService;
 import com.example.demo.service.GoalService;
 import com.example.demo.service.TransactionService;
 import com.example.demo.service.UserService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -32,9 +35,20 @@ public class GoalController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
     @GetMapping("/{userId}")
-    public List<Goal> getGoalsByUserId(@PathVariable String userId) {
-        return goalService.getGoalsByUserId(Long.parseLong(userId));
+    public ResponseEntity<List<Goal>> getGoalsByUserId(@PathVariable String userId, WebRequest request) {
+        Long id = Long.parseLong(userId);
+        String etag = dataVersionService.etag(id, DataVersionService.Resource.GOALS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(goalService.getGoalsByUserId(id));
     }
 
     @PostMapping("/{userId}")
@@ -70,9 +84,9 @@ public class GoalController {
             // Update the goal with the new saved amount
             Goal updatedGoal = goalService.updateSavedAmount(goalId, amount);
 
-            // Retrieve the current authenticated user's username
-            String username = SecurityContextHolder.getContext().getAuthentication().getName();
-            User user = userService.findByUsername(username);
+            // Retrieve the current authenticated user's id from the JWT
+            Long userId = userService.getCurrentUserId(SecurityContextHolder.getContext().getAuthentication());
+            User user = userService.getUserReference(userId);
 
             // Create a new transaction record
             Transaction transaction = new Transaction();
@@ -109,9 +123,9 @@ public class GoalController {
                         .body("Goal with ID " + goalId + " not found.");
             }
 
-            // Retrieve the authenticated user's username
-            String username = SecurityContextHolder.getContext().getAuthentication().getName();
-            User user = userService.findByUsername(username);
+            // Retrieve the authenticated user's id from the JWT
+            Long userId = userService.getCurrentUserId(SecurityContextHolder.getContext().getAuthentication());
+            User user = userService.getUserReference(userId);
 
             // Transfer funds only if the savedAmount is greater than 0
             if (goal.getSavedAmount().compareTo(BigDecimal.ZERO) > 0) {
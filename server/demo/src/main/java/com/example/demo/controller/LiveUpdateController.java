@@ -0,0 +1,37 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.LiveUpdateHub;
+import com.example.demo.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/stream")
+@CrossOrigin(origins = "http://localhost:3000")
+public class LiveUpdateController {
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
+    @Autowired
+    private UserService userService;
+
+    // Server-Sent Events for the caller's own data: "ready" on connect, then "changes" (LiveChangesDTO).
+    // EventSource cannot set headers, so the JWT may be passed as ?access_token= on this endpoint.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        Long userId = userService.getCurrentUserId(SecurityContextHolder.getContext().getAuthentication());
+        return liveUpdateHub.subscribe(userId);
+    }
+
+    // A write to a client that has gone away fails the stream's async dispatch; the hub already
+    // dropped the connection and the response cannot carry an error, so there is nothing to report
+    @ExceptionHandler(IOException.class)
+    public void clientGone() {
+    }
+}
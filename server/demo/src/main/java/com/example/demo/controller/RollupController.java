@@ -0,0 +1,55 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.RollupMaintenanceJob;
+import com.example.demo.service.RollupService;
+import com.example.demo.service.UserService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/rollups/admin")
+@CrossOrigin(origins = "http://localhost:3000")
+public class RollupController {
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private RollupMaintenanceJob rollupMaintenanceJob;
+
+    @Autowired
+    private UserService userService;
+
+    @PostMapping("/rebuild/{userId}")
+    public ResponseEntity<?> rebuildUser(@PathVariable Long userId) {
+        if (!userService.isService(SecurityContextHolder.getContext().getAuthentication())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only service accounts may rebuild rollups");
+        }
+        int buckets = rollupService.rebuildUser(userId);
+        return ResponseEntity.ok(Map.of("userId", userId, "buckets", buckets));
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuildAll() {
+        if (!userService.isService(SecurityContextHolder.getContext().getAuthentication())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only service accounts may rebuild rollups");
+        }
+        int users = rollupMaintenanceJob.rebuildAll();
+        return ResponseEntity.ok(Map.of("users", users));
+    }
+
+    // Empty list means the rollups match the transactions table
+    @GetMapping("/verify/{userId}")
+    public ResponseEntity<?> verifyUser(@PathVariable Long userId) {
+        if (!userService.isService(SecurityContextHolder.getContext().getAuthentication())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only service accounts may verify rollups");
+        }
+        return ResponseEntity.ok(rollupService.verifyUser(userId));
+    }
+}
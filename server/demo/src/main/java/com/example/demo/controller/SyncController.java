@@ -0,0 +1,23 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.SyncResponseDTO;
+import com.example.demo.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@CrossOrigin(origins = "http://localhost:3000")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    // Transactions, budgets and goals changed since the given token; omit it for the full state
+    @GetMapping("/{userId}")
+    public ResponseEntity<SyncResponseDTO> getChanges(@PathVariable Long userId,
+                                                      @RequestParam(required = false) Long since) {
+        return ResponseEntity.ok(syncService.getChanges(userId, since));
+    }
+}
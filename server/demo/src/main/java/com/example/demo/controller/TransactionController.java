@@ -1,18 +1,36 @@
 package com.example.demo.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.demo.dto.ImportResultDTO;
 import com.example.demo.dto.StatusUpdateRequest;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.dto.TransactionPageDTO;
+import com.example.demo.export.ColumnarTransactionWriter;
 import com.example.demo.model.Transaction;
 import com.example.demo.model.User;
+import com.example.demo.service.DataVersionService;
+import com.example.demo.service.TransactionImportService;
 import com.example.demo.service.TransactionService;
 import com.example.demo.service.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
@@ -24,31 +42,33 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private TransactionImportService transactionImportService;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Value("${export.max-users:1000}")
+    private int maxExportUsers;
+
     @GetMapping("/total")
     public BigDecimal getTotalAmountByType(@RequestParam Long userId, @RequestParam String type) {
         return transactionService.getTotalAmountByType(userId, type);
     }
 
     @GetMapping("/recent")
-    public List<Transaction> getRecentTransactions(@RequestParam Long userId, @RequestParam int limit) {
+    public List<TransactionDTO> getRecentTransactions(@RequestParam Long userId, @RequestParam int limit) {
         return transactionService.getRecentTransactions(userId, limit);
     }
 
     @PostMapping("/add")
-    public ResponseEntity<Transaction> addTransaction(@RequestBody Transaction transaction) {
-        // Get the current logged-in user's details from the SecurityContext
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-
-        // Fetch the user from the userService (implement user fetching logic from your
-        // database)
-        User user = userService.findByUsername(username); // Or use the user ID from the JWT token if applicable
-
-        if (user == null) {
-            return ResponseEntity.status(404).body(null); // User not found
-        }
+    public ResponseEntity<TransactionDTO> addTransaction(@RequestBody Transaction transaction) {
+        // The caller's id comes from the JWT, so no user row is loaded
+        Long userId = userService.getCurrentUserId(SecurityContextHolder.getContext().getAuthentication());
+        User user = userService.getUserReference(userId);
 
         // Set the date of the transaction if not provided
         if (transaction.getDate() == null) {
@@ -59,16 +79,91 @@ public class TransactionController {
         Transaction savedTransaction = transactionService.addTransaction(transaction, user);
 
         // Return the saved transaction
-        return ResponseEntity.status(201).body(savedTransaction);
+        return ResponseEntity.status(201).body(TransactionDTO.from(savedTransaction));
+    }
+
+    // Bulk import of a bank statement sent as the raw request body (format: csv, ofx or qif)
+    @PostMapping("/import")
+    public ResponseEntity<?> importTransactions(@RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) {
+        Long userId = userService.getCurrentUserId(SecurityContextHolder.getContext().getAuthentication());
+
+        try {
+            ImportResultDTO result = transactionImportService.importTransactions(userId, request.getInputStream(), format);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
+    // Conditional GET: an unchanged list is answered 304 from the version counter, without the query
     @GetMapping("/{userId}")
-    public List<Transaction> getTransactions(@PathVariable String userId) {
-        return transactionService.getTransactionsByUserId(Long.parseLong(userId));
+    public ResponseEntity<List<TransactionDTO>> getTransactions(@PathVariable String userId, WebRequest request) {
+        Long id = Long.parseLong(userId);
+        String etag = dataVersionService.etag(id, DataVersionService.Resource.TRANSACTIONS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(transactionService.getTransactionsByUserId(id));
+    }
+
+    // Cursor-paginated listing; pass the returned nextCursor to fetch the following page
+    @GetMapping("/{userId}/page")
+    public ResponseEntity<?> getTransactionPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate) {
+        try {
+            LocalDateTime start = startDate != null ? LocalDateTime.parse(startDate) : null;
+            LocalDateTime end = endDate != null ? LocalDateTime.parse(endDate) : null;
+
+            TransactionPageDTO page = transactionService.getTransactionPage(userId, cursor, size, type, category, start, end);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Full history written incrementally, so memory stays flat regardless of history length
+    @GetMapping("/{userId}/stream")
+    public ResponseEntity<StreamingResponseBody> streamTransactions(@PathVariable Long userId) {
+        StreamingResponseBody body = out -> transactionService.streamTransactionsByUserId(userId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Bulk export for ml_server and model training: one user's or a cohort's transactions in the
+    // column-oriented binary format described in ColumnarTransactionWriter. Other users' history
+    // needs a SERVICE account; anyone else may only export their own.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@RequestParam List<Long> userIds) {
+        List<Long> distinctIds = userIds.stream().distinct().toList();
+        if (distinctIds.isEmpty() || distinctIds.size() > maxExportUsers) {
+            // Typed as a streaming body so the success path is written as it is produced
+            return textResponse(HttpStatus.BAD_REQUEST, "Between 1 and " + maxExportUsers + " userIds are required");
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!userService.isService(authentication)
+                && !distinctIds.equals(List.of(userService.getCurrentUserId(authentication)))) {
+            return textResponse(HttpStatus.FORBIDDEN, "Only service accounts may export other users' transactions");
+        }
+        StreamingResponseBody body = out -> transactionService.exportTransactionsColumnar(distinctIds, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(ColumnarTransactionWriter.MEDIA_TYPE)).body(body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> textResponse(HttpStatus status, String text) {
+        byte[] message = text.getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.status(status).contentType(MediaType.TEXT_PLAIN).body(out -> out.write(message));
     }
 
     @PatchMapping("/changeStatus/{transactionId}")
-    public ResponseEntity<Transaction> changeStatus(@PathVariable Long transactionId,
+    public ResponseEntity<TransactionDTO> changeStatus(@PathVariable Long transactionId,
             @RequestBody StatusUpdateRequest statusUpdateRequest) {
         // Determine updated status
         String updatedStatus = statusUpdateRequest.getStatus();
@@ -77,7 +172,7 @@ public class TransactionController {
         Transaction updatedTransaction = transactionService.updateTransactionStatus(transactionId, updatedStatus);
 
         // Return the updated transaction in response
-        return ResponseEntity.ok(updatedTransaction);
+        return ResponseEntity.ok(TransactionDTO.from(updatedTransaction));
     }
 
     @DeleteMapping("/delete/{transactionId}")
@@ -93,12 +188,8 @@ public class TransactionController {
 
     @GetMapping("/expenses/category/total")
     public ResponseEntity<BigDecimal> getTotalExpenseByCategory(@RequestParam String category) {
-        // Get the current logged-in user's details from the SecurityContext
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-
-        // Fetch the user from the userService
-        User user = userService.findByUsername(username);
-        Long userId = user.getId();
+        // Get the current logged-in user's id from the SecurityContext
+        Long userId = userService.getCurrentUserId(SecurityContextHolder.getContext().getAuthentication());
 
         // Get the total expenses for the category
         BigDecimal totalExpenses = transactionService.getTotalExpensesByCategory(userId, category);
@@ -115,9 +206,7 @@ public class TransactionController {
             @RequestParam String endDate) {
 
         // Get logged-in user
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userService.findByUsername(username);
-        Long userId = user.getId();
+        Long userId = userService.getCurrentUserId(SecurityContextHolder.getContext().getAuthentication());
 
         LocalDateTime start = LocalDateTime.parse(startDate);
         LocalDateTime end = LocalDateTime.parse(endDate);
@@ -44,7 +44,6 @@ public class UserController {
 
         foundUser.setAge(user.getAge());
         foundUser.setIncomeAllow(user.getIncomeAllow());
-        foundUser.setRole(user.getRole());
         foundUser.setSetAmount(user.getSetAmount());
 
         userService.saveUser(foundUser);
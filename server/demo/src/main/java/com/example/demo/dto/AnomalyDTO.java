@@ -0,0 +1,56 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// A flagged expense. id, amount, category, date and overspent match the records of ml_server's
+// /detect-anomalies; overspent is measured against the category median rather than the overall one.
+public class AnomalyDTO {
+    private Long id;
+    private BigDecimal amount;
+    private String category;
+    private LocalDateTime date;
+    private BigDecimal overspent;
+    private BigDecimal typicalAmount;
+    private BigDecimal threshold;
+
+    public AnomalyDTO(Long id, BigDecimal amount, String category, LocalDateTime date,
+                      BigDecimal typicalAmount, BigDecimal threshold) {
+        this.id = id;
+        this.amount = amount;
+        this.category = category;
+        this.date = date;
+        this.overspent = amount.subtract(typicalAmount);
+        this.typicalAmount = typicalAmount;
+        this.threshold = threshold;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public BigDecimal getOverspent() {
+        return overspent;
+    }
+
+    public BigDecimal getTypicalAmount() {
+        return typicalAmount;
+    }
+
+    public BigDecimal getThreshold() {
+        return threshold;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+// One budget change on the live stream. budgetId is null when several of the user's budgets changed
+// at once; clients then re-read /api/budgets, which its ETag keeps cheap.
+public class BudgetChangeDTO {
+    private String kind;
+    private Long budgetId;
+
+    public BudgetChangeDTO(String kind, Long budgetId) {
+        this.kind = kind;
+        this.budgetId = budgetId;
+    }
+
+    // Getters
+    public String getKind() {
+        return kind;
+    }
+
+    public Long getBudgetId() {
+        return budgetId;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Budget;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Budget fields without the owning user, for sync responses
+public class BudgetDTO {
+    private Long id;
+    private String category;
+    private BigDecimal amount;
+    private String description;
+    private BigDecimal spentAmount;
+    private String budgetType;
+    private LocalDate lastResetDate;
+
+    public BudgetDTO(Long id, String category, BigDecimal amount, String description, BigDecimal spentAmount,
+                     String budgetType, LocalDate lastResetDate) {
+        this.id = id;
+        this.category = category;
+        this.amount = amount;
+        this.description = description;
+        this.spentAmount = spentAmount;
+        this.budgetType = budgetType;
+        this.lastResetDate = lastResetDate;
+    }
+
+    public static BudgetDTO from(Budget budget) {
+        return new BudgetDTO(budget.getId(), budget.getCategory(), budget.getAmount(), budget.getDescription(),
+                budget.getSpentAmount(), budget.getBudgetType(), budget.getLastResetDate());
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public BigDecimal getSpentAmount() {
+        return spentAmount;
+    }
+
+    public String getBudgetType() {
+        return budgetType;
+    }
+
+    public LocalDate getLastResetDate() {
+        return lastResetDate;
+    }
+}
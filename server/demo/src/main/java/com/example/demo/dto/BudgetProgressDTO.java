@@ -0,0 +1,62 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Dashboard view of a budget, queried with a JPQL constructor expression
+public class BudgetProgressDTO {
+    private Long id;
+    private String category;
+    private String budgetType;
+    private BigDecimal amount;
+    private BigDecimal spentAmount;
+    private BigDecimal remaining;
+    private BigDecimal percentUsed;
+
+    public BudgetProgressDTO(Long id, String category, String budgetType, BigDecimal amount, BigDecimal spentAmount) {
+        this.id = id;
+        this.category = category;
+        this.budgetType = budgetType;
+        this.amount = amount;
+        this.spentAmount = spentAmount != null ? spentAmount : BigDecimal.ZERO;
+        this.remaining = amount.subtract(this.spentAmount);
+        this.percentUsed = percentOf(this.spentAmount, amount);
+    }
+
+    // Share of the whole as a percentage with one decimal; zero when there is no whole
+    static BigDecimal percentOf(BigDecimal part, BigDecimal whole) {
+        if (whole == null || whole.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        return part.multiply(BigDecimal.valueOf(100)).divide(whole, 1, RoundingMode.HALF_UP);
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getBudgetType() {
+        return budgetType;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public BigDecimal getSpentAmount() {
+        return spentAmount;
+    }
+
+    public BigDecimal getRemaining() {
+        return remaining;
+    }
+
+    public BigDecimal getPercentUsed() {
+        return percentUsed;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Compact financial context for the chat assistant; summary is the same data as prompt-ready text
+public class ChatContextDTO {
+    private Long userId;
+    private LocalDateTime generatedAt;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal netSavings;
+    private BigDecimal monthIncome;
+    private BigDecimal monthExpense;
+    private List<BudgetProgressDTO> budgets;
+    private List<GoalProgressDTO> goals;
+    private Map<String, BigDecimal> topCategories; // Expense by category over the recent months, largest first
+    private List<TransactionDTO> notableTransactions; // Largest recent expenses
+    private String summary;
+
+    public ChatContextDTO(Long userId, LocalDateTime generatedAt, BigDecimal totalIncome, BigDecimal totalExpense,
+                          BigDecimal monthIncome, BigDecimal monthExpense, List<BudgetProgressDTO> budgets,
+                          List<GoalProgressDTO> goals, Map<String, BigDecimal> topCategories,
+                          List<TransactionDTO> notableTransactions, String summary) {
+        this.userId = userId;
+        this.generatedAt = generatedAt;
+        this.totalIncome = totalIncome;
+        this.totalExpense = totalExpense;
+        this.netSavings = totalIncome.subtract(totalExpense);
+        this.monthIncome = monthIncome;
+        this.monthExpense = monthExpense;
+        this.budgets = budgets;
+        this.goals = goals;
+        this.topCategories = topCategories;
+        this.notableTransactions = notableTransactions;
+        this.summary = summary;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public BigDecimal getTotalIncome() {
+        return totalIncome;
+    }
+
+    public BigDecimal getTotalExpense() {
+        return totalExpense;
+    }
+
+    public BigDecimal getNetSavings() {
+        return netSavings;
+    }
+
+    public BigDecimal getMonthIncome() {
+        return monthIncome;
+    }
+
+    public BigDecimal getMonthExpense() {
+        return monthExpense;
+    }
+
+    public List<BudgetProgressDTO> getBudgets() {
+        return budgets;
+    }
+
+    public List<GoalProgressDTO> getGoals() {
+        return goals;
+    }
+
+    public Map<String, BigDecimal> getTopCategories() {
+        return topCategories;
+    }
+
+    public List<TransactionDTO> getNotableTransactions() {
+        return notableTransactions;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+}
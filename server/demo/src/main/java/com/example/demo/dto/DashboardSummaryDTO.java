@@ -1,17 +1,20 @@
 package com.example.demo.dto;
 
-import com.example.demo.model.Transaction;
-
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 public class DashboardSummaryDTO {
     private BigDecimal totalIncome;
     private BigDecimal totalExpense;
     private BigDecimal netSavings;
-    private List<Transaction> recentTransactions;
+    private List<TransactionDTO> recentTransactions;
+    private List<BudgetProgressDTO> budgets = new ArrayList<>();
+    private List<GoalProgressDTO> goals = new ArrayList<>();
+    // Sections that failed or missed the deadline and were left out of this response
+    private List<String> missingSections = new ArrayList<>();
 
-    public DashboardSummaryDTO(BigDecimal totalIncome, BigDecimal totalExpense, BigDecimal netSavings, List<Transaction> recentTransactions) {
+    public DashboardSummaryDTO(BigDecimal totalIncome, BigDecimal totalExpense, BigDecimal netSavings, List<TransactionDTO> recentTransactions) {
         this.totalIncome = totalIncome;
         this.totalExpense = totalExpense;
         this.netSavings = netSavings;
@@ -43,11 +46,39 @@ public class DashboardSummaryDTO {
         this.netSavings = netSavings;
     }
 
-    public List<Transaction> getRecentTransactions() {
+    public List<TransactionDTO> getRecentTransactions() {
         return recentTransactions;
     }
 
-    public void setRecentTransactions(List<Transaction> recentTransactions) {
+    public void setRecentTransactions(List<TransactionDTO> recentTransactions) {
         this.recentTransactions = recentTransactions;
     }
+
+    public List<BudgetProgressDTO> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(List<BudgetProgressDTO> budgets) {
+        this.budgets = budgets;
+    }
+
+    public List<GoalProgressDTO> getGoals() {
+        return goals;
+    }
+
+    public void setGoals(List<GoalProgressDTO> goals) {
+        this.goals = goals;
+    }
+
+    public List<String> getMissingSections() {
+        return missingSections;
+    }
+
+    public void setMissingSections(List<String> missingSections) {
+        this.missingSections = missingSections;
+    }
+
+    public boolean isPartial() {
+        return !missingSections.isEmpty();
+    }
 }
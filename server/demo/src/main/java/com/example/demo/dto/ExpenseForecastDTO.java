@@ -0,0 +1,46 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Same field names as the ml_server /predict-expense response, so the dashboard reads either one
+public class ExpenseForecastDTO {
+    @JsonProperty("predicted_next_3_months_expense")
+    private List<MonthlyAmountDTO> predictedNext3MonthsExpense = new ArrayList<>();
+
+    @JsonProperty("total_expense_previous_months")
+    private double totalExpensePreviousMonths;
+
+    @JsonProperty("previous_months_expense")
+    private List<MonthlyAmountDTO> previousMonthsExpense = new ArrayList<>();
+
+    // holt-winters, holt or last-value
+    private String model;
+
+    public ExpenseForecastDTO(List<MonthlyAmountDTO> predictedNext3MonthsExpense, double totalExpensePreviousMonths,
+                              List<MonthlyAmountDTO> previousMonthsExpense, String model) {
+        this.predictedNext3MonthsExpense = predictedNext3MonthsExpense;
+        this.totalExpensePreviousMonths = totalExpensePreviousMonths;
+        this.previousMonthsExpense = previousMonthsExpense;
+        this.model = model;
+    }
+
+    // Getters
+    public List<MonthlyAmountDTO> getPredictedNext3MonthsExpense() {
+        return predictedNext3MonthsExpense;
+    }
+
+    public double getTotalExpensePreviousMonths() {
+        return totalExpensePreviousMonths;
+    }
+
+    public List<MonthlyAmountDTO> getPreviousMonthsExpense() {
+        return previousMonthsExpense;
+    }
+
+    public String getModel() {
+        return model;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+public class FeaturePageDTO {
+    private List<UserFeaturesDTO> users;
+    private Long nextCursor; // Last user id of this page, to pass as cursor; null when there is no next page
+    private boolean hasMore;
+
+    public FeaturePageDTO(List<UserFeaturesDTO> users, Long nextCursor, boolean hasMore) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<UserFeaturesDTO> getUsers() {
+        return users;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
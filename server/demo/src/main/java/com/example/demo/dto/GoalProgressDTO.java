@@ -0,0 +1,41 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+
+// Dashboard view of a savings goal, queried with a JPQL constructor expression
+public class GoalProgressDTO {
+    private Long id;
+    private String name;
+    private BigDecimal targetAmount;
+    private BigDecimal savedAmount;
+    private BigDecimal percentComplete;
+
+    public GoalProgressDTO(Long id, String name, BigDecimal targetAmount, BigDecimal savedAmount) {
+        this.id = id;
+        this.name = name;
+        this.targetAmount = targetAmount;
+        this.savedAmount = savedAmount != null ? savedAmount : BigDecimal.ZERO;
+        this.percentComplete = BudgetProgressDTO.percentOf(this.savedAmount, targetAmount);
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BigDecimal getTargetAmount() {
+        return targetAmount;
+    }
+
+    public BigDecimal getSavedAmount() {
+        return savedAmount;
+    }
+
+    public BigDecimal getPercentComplete() {
+        return percentComplete;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Payload of a "changes" event on /api/stream: everything that changed for the user since the
+// previous event, with only the latest change per row. When reloadTransactions is set the burst was
+// too large to list (or was an import) and transactions is empty; clients re-read or delta-sync instead.
+public class LiveChangesDTO {
+    private List<TransactionChangeDTO> transactions = new ArrayList<>();
+    private boolean reloadTransactions;
+    private List<BudgetChangeDTO> budgets = new ArrayList<>();
+
+    // Getters and Setters
+    public List<TransactionChangeDTO> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionChangeDTO> transactions) {
+        this.transactions = transactions;
+    }
+
+    public boolean isReloadTransactions() {
+        return reloadTransactions;
+    }
+
+    public void setReloadTransactions(boolean reloadTransactions) {
+        this.reloadTransactions = reloadTransactions;
+    }
+
+    public List<BudgetChangeDTO> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(List<BudgetChangeDTO> budgets) {
+        this.budgets = budgets;
+    }
+}
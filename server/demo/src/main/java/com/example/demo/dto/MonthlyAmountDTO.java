@@ -0,0 +1,21 @@
+package com.example.demo.dto;
+
+// One month of an expense series, e.g. {"month": "March 2024", "amount": 1234.5}
+public class MonthlyAmountDTO {
+    private String month;
+    private double amount;
+
+    public MonthlyAmountDTO(String month, double amount) {
+        this.month = month;
+        this.amount = amount;
+    }
+
+    // Getters
+    public String getMonth() {
+        return month;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class MonthlyFeatureDTO {
+    private String month; // ISO year-month, e.g. 2024-03
+    private BigDecimal income;
+    private BigDecimal expense;
+    private int transactionCount;
+    private BigDecimal expenseVolatility; // Standard deviation of monthly expense over the trailing six months
+    private int recurringCount; // Expenses of the same category and amount in this and the two previous months
+    private Map<String, BigDecimal> categorySpend = new LinkedHashMap<>();
+
+    public MonthlyFeatureDTO(String month, BigDecimal income, BigDecimal expense, int transactionCount,
+                             BigDecimal expenseVolatility, int recurringCount) {
+        this.month = month;
+        this.income = income;
+        this.expense = expense;
+        this.transactionCount = transactionCount;
+        this.expenseVolatility = expenseVolatility;
+        this.recurringCount = recurringCount;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public BigDecimal getIncome() {
+        return income;
+    }
+
+    public BigDecimal getExpense() {
+        return expense;
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    public BigDecimal getExpenseVolatility() {
+        return expenseVolatility;
+    }
+
+    public int getRecurringCount() {
+        return recurringCount;
+    }
+
+    public Map<String, BigDecimal> getCategorySpend() {
+        return categorySpend;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.demo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Changes since the client's sync token. When full is set the lists are the complete current state
+// and replace the client's copy; otherwise they are upserts and deletions to apply. Either way the
+// client stores syncToken and sends it with the next request, immediately if hasMore is set.
+public class SyncResponseDTO {
+    private long syncToken;
+    private boolean full;
+    private boolean hasMore;
+    private List<TransactionDTO> transactions = new ArrayList<>();
+    private List<BudgetDTO> budgets = new ArrayList<>();
+    private List<GoalProgressDTO> goals = new ArrayList<>();
+    private List<Long> deletedTransactionIds = new ArrayList<>();
+    private List<Long> deletedBudgetIds = new ArrayList<>();
+    private List<Long> deletedGoalIds = new ArrayList<>();
+
+    // Getters and Setters
+    public long getSyncToken() {
+        return syncToken;
+    }
+
+    public void setSyncToken(long syncToken) {
+        this.syncToken = syncToken;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public void setFull(boolean full) {
+        this.full = full;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public List<TransactionDTO> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionDTO> transactions) {
+        this.transactions = transactions;
+    }
+
+    public List<BudgetDTO> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(List<BudgetDTO> budgets) {
+        this.budgets = budgets;
+    }
+
+    public List<GoalProgressDTO> getGoals() {
+        return goals;
+    }
+
+    public void setGoals(List<GoalProgressDTO> goals) {
+        this.goals = goals;
+    }
+
+    public List<Long> getDeletedTransactionIds() {
+        return deletedTransactionIds;
+    }
+
+    public void setDeletedTransactionIds(List<Long> deletedTransactionIds) {
+        this.deletedTransactionIds = deletedTransactionIds;
+    }
+
+    public List<Long> getDeletedBudgetIds() {
+        return deletedBudgetIds;
+    }
+
+    public void setDeletedBudgetIds(List<Long> deletedBudgetIds) {
+        this.deletedBudgetIds = deletedBudgetIds;
+    }
+
+    public List<Long> getDeletedGoalIds() {
+        return deletedGoalIds;
+    }
+
+    public void setDeletedGoalIds(List<Long> deletedGoalIds) {
+        this.deletedGoalIds = deletedGoalIds;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.dto;
+
+import com.example.demo.event.TransactionChangedEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One transaction change on the live stream; carries the row's fields so clients can apply it without a fetch
+public class TransactionChangeDTO {
+    private String kind;
+    private Long id;
+    private String type;
+    private String category;
+    private BigDecimal amount;
+    private LocalDateTime date;
+    private String status;
+
+    public TransactionChangeDTO(String kind, Long id, String type, String category, BigDecimal amount,
+                                LocalDateTime date, String status) {
+        this.kind = kind;
+        this.id = id;
+        this.type = type;
+        this.category = category;
+        this.amount = amount;
+        this.date = date;
+        this.status = status;
+    }
+
+    public static TransactionChangeDTO from(TransactionChangedEvent event) {
+        return new TransactionChangeDTO(event.getKind().name(), event.getTransactionId(), event.getType(),
+                event.getCategory(), event.getAmount(), event.getDate(), event.getStatus());
+    }
+
+    // Getters
+    public String getKind() {
+        return kind;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Read model for transaction responses. Queried with a JPQL constructor expression, so the
+// owning user is referenced by id only and never loaded or serialized.
+public class TransactionDTO {
+    private Long id;
+    private Long userId;
+    private BigDecimal amount;
+    private String category;
+    private String description;
+    private String type;
+    private LocalDateTime date;
+    private String status;
+    private String paymentMethod;
+
+    public TransactionDTO(Long id, Long userId, BigDecimal amount, String category, String description,
+                          String type, LocalDateTime date, String status, String paymentMethod) {
+        this.id = id;
+        this.userId = userId;
+        this.amount = amount;
+        this.category = category;
+        this.description = description;
+        this.type = type;
+        this.date = date;
+        this.status = status;
+        this.paymentMethod = paymentMethod;
+    }
+
+    // For write responses, where the entity is already in hand
+    public static TransactionDTO from(Transaction transaction) {
+        return new TransactionDTO(
+                transaction.getId(),
+                transaction.getUser() != null ? transaction.getUser().getId() : null,
+                transaction.getAmount(),
+                transaction.getCategory(),
+                transaction.getDescription(),
+                transaction.getType(),
+                transaction.getDate(),
+                transaction.getStatus(),
+                transaction.getPaymentMethod());
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(String paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+public class TransactionPageDTO {
+    private List<TransactionDTO> transactions;
+    private String nextCursor; // Opaque cursor for the next page, null when there is none
+    private boolean hasMore;
+
+    public TransactionPageDTO(List<TransactionDTO> transactions, String nextCursor, boolean hasMore) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<TransactionDTO> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionDTO> transactions) {
+        this.transactions = transactions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserFeaturesDTO {
+    private Long userId;
+    private LocalDateTime computedAt;
+    private List<MonthlyFeatureDTO> months = new ArrayList<>();
+
+    public UserFeaturesDTO(Long userId, LocalDateTime computedAt) {
+        this.userId = userId;
+        this.computedAt = computedAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public List<MonthlyFeatureDTO> getMonths() {
+        return months;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.event;
+
+// A committed change to a user's budgets. budgetId is null when several of the user's budgets
+// changed in one statement (expense postings, period rollovers, reconciliation).
+public class BudgetChangedEvent {
+
+    public enum Kind {
+        UPDATED,
+        // spentAmount moved (expense postings or a manual correction)
+        SPENT,
+        // A period rolled over and spentAmount went back to zero
+        RESET,
+        DELETED
+    }
+
+    private final Kind kind;
+    private final Long userId;
+    private final Long budgetId;
+
+    public BudgetChangedEvent(Kind kind, Long userId, Long budgetId) {
+        this.kind = kind;
+        this.userId = userId;
+        this.budgetId = budgetId;
+    }
+
+    public static BudgetChangedEvent updated(Long userId, Long budgetId) {
+        return new BudgetChangedEvent(Kind.UPDATED, userId, budgetId);
+    }
+
+    public static BudgetChangedEvent spent(Long userId, Long budgetId) {
+        return new BudgetChangedEvent(Kind.SPENT, userId, budgetId);
+    }
+
+    public static BudgetChangedEvent reset(Long userId, Long budgetId) {
+        return new BudgetChangedEvent(Kind.RESET, userId, budgetId);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getBudgetId() {
+        return budgetId;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.event;
+
+// A committed change to one of a user's goals (created, deposit or deleted)
+public class GoalChangedEvent {
+
+    public enum Kind {
+        UPDATED,
+        DELETED
+    }
+
+    private final Kind kind;
+    private final Long userId;
+    private final Long goalId;
+
+    public GoalChangedEvent(Kind kind, Long userId, Long goalId) {
+        this.kind = kind;
+        this.userId = userId;
+        this.goalId = goalId;
+    }
+
+    public static GoalChangedEvent updated(Long userId, Long goalId) {
+        return new GoalChangedEvent(Kind.UPDATED, userId, goalId);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getGoalId() {
+        return goalId;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.event;
+
+import com.example.demo.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Snapshot of a committed transaction change; listeners must not rely on the entity still being loaded
+public class TransactionChangedEvent {
+
+    public enum Kind {
+        CREATED,
+        DELETED,
+        STATUS_CHANGED,
+        // Many rows written at once (bulk import); only userId is set
+        IMPORTED
+    }
+
+    private final Kind kind;
+    private final Long userId;
+    private final Long transactionId;
+    private final String type;
+    private final String category;
+    private final BigDecimal amount;
+    private final LocalDateTime date;
+    private final String status;
+
+    private TransactionChangedEvent(Kind kind, Long userId, Long transactionId, String type, String category,
+                                    BigDecimal amount, LocalDateTime date, String status) {
+        this.kind = kind;
+        this.userId = userId;
+        this.transactionId = transactionId;
+        this.type = type;
+        this.category = category;
+        this.amount = amount;
+        this.date = date;
+        this.status = status;
+    }
+
+    public static TransactionChangedEvent of(Kind kind, Transaction transaction) {
+        return new TransactionChangedEvent(kind,
+                transaction.getUser() != null ? transaction.getUser().getId() : null,
+                transaction.getId(),
+                transaction.getType(),
+                transaction.getCategory(),
+                transaction.getAmount(),
+                transaction.getDate(),
+                transaction.getStatus());
+    }
+
+    public static TransactionChangedEvent imported(Long userId) {
+        return new TransactionChangedEvent(Kind.IMPORTED, userId, null, null, null, null, null, null);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
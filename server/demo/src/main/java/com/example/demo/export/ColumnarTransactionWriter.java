@@ -0,0 +1,176 @@
+package com.example.demo.export;
+
+import com.example.demo.dto.TransactionDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+// Column-oriented binary encoding of transactions for bulk consumers (ml_server, model training).
+// Rows are buffered into batches and each batch is written column by column, so a reader can map
+// every fixed-width column straight into an array (numpy.frombuffer) instead of decoding JSON.
+// Little-endian throughout:
+//
+//   stream     = "FTXC" version:u8 batch* end:i32(0)
+//   batch      = rows:i32 delta(category) delta(type) delta(status) delta(payment_method)
+//                id:i64[rows] user_id:i64[rows] amount:i64[rows] date:i64[rows]
+//                category:i32[rows] type:i32[rows] status:i32[rows] payment_method:i32[rows]
+//                description_offsets:i32[rows+1] description_bytes:u8[last offset]
+//   delta      = count:i32 (length:i32 utf8:u8[length])*
+//
+// Amounts are in cents. Dates are microseconds since 1970-01-01T00:00 of the stored local time
+// (numpy datetime64[us]). A null amount or date is Long.MIN_VALUE, which numpy reads as NaT.
+// Category, type, status and payment method are dictionary codes: each batch first lists the
+// strings it introduces, numbered on from the previous batch's; a null is -1. A null description
+// is written as an empty string.
+public class ColumnarTransactionWriter {
+
+    public static final String MEDIA_TYPE = "application/vnd.finapp.transactions+columnar";
+    static final byte[] MAGIC = "FTXC".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final long NULL_LONG = Long.MIN_VALUE;
+    static final int NULL_CODE = -1;
+    private static final int DICTIONARIES = 4;
+
+    private final OutputStream out;
+    private final int batchSize;
+
+    private final long[] ids;
+    private final long[] userIds;
+    private final long[] amounts;
+    private final long[] dates;
+    private final int[][] codes;
+    private final int[] descriptionOffsets;
+    private final ByteArrayOutputStream descriptions = new ByteArrayOutputStream();
+
+    private final Dictionary[] dictionaries = new Dictionary[DICTIONARIES];
+    private int rows;
+    private long written;
+
+    public ColumnarTransactionWriter(OutputStream out, int batchSize) throws IOException {
+        this.out = out;
+        this.batchSize = batchSize;
+        ids = new long[batchSize];
+        userIds = new long[batchSize];
+        amounts = new long[batchSize];
+        dates = new long[batchSize];
+        codes = new int[DICTIONARIES][batchSize];
+        descriptionOffsets = new int[batchSize + 1];
+        for (int i = 0; i < DICTIONARIES; i++) {
+            dictionaries[i] = new Dictionary();
+        }
+        out.write(MAGIC);
+        out.write(VERSION);
+    }
+
+    public void write(TransactionDTO transaction) throws IOException {
+        ids[rows] = transaction.getId();
+        userIds[rows] = transaction.getUserId() != null ? transaction.getUserId() : NULL_LONG;
+        amounts[rows] = cents(transaction.getAmount());
+        dates[rows] = micros(transaction.getDate());
+        codes[0][rows] = dictionaries[0].code(transaction.getCategory());
+        codes[1][rows] = dictionaries[1].code(transaction.getType());
+        codes[2][rows] = dictionaries[2].code(transaction.getStatus());
+        codes[3][rows] = dictionaries[3].code(transaction.getPaymentMethod());
+        if (transaction.getDescription() != null) {
+            descriptions.write(transaction.getDescription().getBytes(StandardCharsets.UTF_8));
+        }
+        rows++;
+        descriptionOffsets[rows] = descriptions.size();
+        if (rows == batchSize) {
+            flushBatch();
+        }
+    }
+
+    // Writes the last partial batch and the end marker; the caller closes the stream
+    public long finish() throws IOException {
+        if (rows > 0) {
+            flushBatch();
+        }
+        out.write(ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0).array());
+        out.flush();
+        return written;
+    }
+
+    private void flushBatch() throws IOException {
+        int deltaBytes = 0;
+        for (Dictionary dictionary : dictionaries) {
+            deltaBytes += dictionary.pendingBytes;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + deltaBytes + DICTIONARIES * Integer.BYTES
+                        + rows * (4 * Long.BYTES + DICTIONARIES * Integer.BYTES) + (rows + 1) * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(rows);
+        for (Dictionary dictionary : dictionaries) {
+            dictionary.writeDelta(buffer);
+        }
+        for (long[] column : new long[][]{ids, userIds, amounts, dates}) {
+            buffer.asLongBuffer().put(column, 0, rows);
+            buffer.position(buffer.position() + rows * Long.BYTES);
+        }
+        for (int[] column : codes) {
+            buffer.asIntBuffer().put(column, 0, rows);
+            buffer.position(buffer.position() + rows * Integer.BYTES);
+        }
+        buffer.asIntBuffer().put(descriptionOffsets, 0, rows + 1);
+        out.write(buffer.array());
+        descriptions.writeTo(out);
+
+        written += rows;
+        rows = 0;
+        descriptions.reset();
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : NULL_LONG;
+    }
+
+    private static long micros(LocalDateTime date) {
+        return date != null ? ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), date)
+                : NULL_LONG;
+    }
+
+    // Codes in first-seen order; entries added since the last batch go out with the next one
+    private static class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private int pendingCount;
+        private int pendingBytes;
+
+        int code(String value) {
+            if (value == null) {
+                return NULL_CODE;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = codes.size();
+                codes.put(value, code);
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(bytes.length);
+                pending.writeBytes(length.array());
+                pending.writeBytes(bytes);
+                pendingCount++;
+                pendingBytes = pending.size();
+            }
+            return code;
+        }
+
+        void writeDelta(ByteBuffer buffer) {
+            buffer.putInt(pendingCount);
+            buffer.put(pending.toByteArray());
+            pending.reset();
+            pendingCount = 0;
+            pendingBytes = 0;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.demo.filter;
 
+import com.example.demo.security.UserPrincipal;
 import com.example.demo.util.JwtUtil;
+import com.example.demo.util.VerifiedToken;
+
+import io.jsonwebtoken.JwtException;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,6 +13,7 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -20,6 +25,8 @@ import java.io.IOException;
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    private static final String STREAM_PATH = "/api/stream";
+
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -27,6 +34,8 @@ public class JwtFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
         throws ServletException, IOException {
     final String authHeader = request.getHeader("Authorization");
+    final String token = authHeader != null && authHeader.startsWith("Bearer ")
+            ? authHeader.substring(7) : streamToken(request);
 
     // Skip JWT processing for /api/auth/login
     if (request.getRequestURI().equals("/api/auth/login")) {
@@ -34,22 +43,32 @@ public class JwtFilter extends OncePerRequestFilter {
         return;
     }
 
-    // Existing JWT validation logic
-    if (authHeader != null && authHeader.startsWith("Bearer ")) {
-        String token = authHeader.substring(7);
-        String username = jwtUtil.extractUsername(token);
+    // One verification per request; repeat tokens are served from JwtUtil's cache
+    if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        try {
+            VerifiedToken verified = jwtUtil.parseToken(token);
+            String username = verified.getSubject();
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(token, username)) {
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(username, null, null);
+            if (username != null) {
+                UserPrincipal principal = new UserPrincipal(verified.getUserId(), username, verified.getRoles());
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        principal, null,
+                        principal.getRoles().stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid or expired token: continue unauthenticated and let security reject the request
         }
     }
 
     chain.doFilter(request, response);
 }
 
+    // EventSource cannot send an Authorization header. The query parameter is honoured only on the
+    // event stream, so tokens do not spread into the URLs (and access logs) of ordinary requests.
+    private String streamToken(HttpServletRequest request) {
+        return request.getRequestURI().equals(STREAM_PATH) ? request.getParameter("access_token") : null;
+    }
+
 }
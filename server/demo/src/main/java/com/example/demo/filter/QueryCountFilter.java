@@ -0,0 +1,78 @@
+package com.example.demo.filter;
+
+import com.example.demo.util.QueryCounter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Records how many SQL statements each request ran (app.request.queries, tagged by URI template)
+// and reports requests that repeat one statement past the threshold, the usual N+1 signature
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final int MAX_LOGGED_SQL = 200;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${metrics.n-plus-one.threshold:10}")
+    private int nPlusOneThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryCounter.Tally tally = QueryCounter.stop();
+            if (tally != null) {
+                record(request, tally);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCounter.Tally tally) {
+        // The matched pattern (e.g. /api/budgets/{userId}) keeps the tag set bounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("app.request.queries")
+                .description("SQL statements executed per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(tally.getTotal());
+
+        Map.Entry<String, Integer> repeated = tally.getMostRepeated();
+        if (repeated != null && repeated.getValue() >= nPlusOneThreshold) {
+            Counter.builder("app.request.n_plus_one")
+                    .description("Requests that repeated one statement at least metrics.n-plus-one.threshold times")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+
+            String sql = repeated.getKey();
+            System.out.println("[N+1] " + request.getMethod() + " " + uri + " ran " + tally.getTotal() +
+                    " statements, " + repeated.getValue() + "x: " +
+                    (sql.length() > MAX_LOGGED_SQL ? sql.substring(0, MAX_LOGGED_SQL) + "..." : sql));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.demo.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Header-driven CSV (RFC 4180 quoting). Recognized columns: date, amount, type, category,
+// description, status, paymentMethod. Without a type column the sign of amount decides.
+public class CsvRowParser implements ImportRowParser {
+
+    @Override
+    public void parse(Reader reader, ImportRowHandler handler) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        long[] lineNumber = {0};
+
+        List<String> header = readRecord(in, lineNumber);
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+        }
+        if (!columns.containsKey("date") || !columns.containsKey("amount")) {
+            handler.onError(1, "Header must contain date and amount columns");
+            return;
+        }
+
+        List<String> fields;
+        long recordLine = lineNumber[0] + 1;
+        while ((fields = readRecord(in, lineNumber)) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                recordLine = lineNumber[0] + 1;
+                continue;
+            }
+            try {
+                handler.onRow(toRow(recordLine, fields, columns));
+            } catch (IllegalArgumentException e) {
+                handler.onError(recordLine, e.getMessage());
+            }
+            recordLine = lineNumber[0] + 1;
+        }
+    }
+
+    private ImportRow toRow(long line, List<String> fields, Map<String, Integer> columns) {
+        ImportRow row = new ImportRow(line);
+        row.setDate(ImportValues.parseDate(field(fields, columns, "date")));
+        row.setAmount(ImportValues.parseAmount(field(fields, columns, "amount")));
+        row.setType(ImportValues.emptyToNull(field(fields, columns, "type")));
+        row.setCategory(ImportValues.emptyToNull(field(fields, columns, "category")));
+        row.setDescription(ImportValues.emptyToNull(field(fields, columns, "description")));
+        row.setStatus(ImportValues.emptyToNull(field(fields, columns, "status")));
+        row.setPaymentMethod(ImportValues.emptyToNull(field(fields, columns, "paymentmethod")));
+        return row;
+    }
+
+    private String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return "";
+        }
+        return fields.get(index);
+    }
+
+    // Reads one record, which may span lines when a quoted field contains a newline
+    static List<String> readRecord(BufferedReader in, long[] lineNumber) throws IOException {
+        String line = in.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber[0]++;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                String next = in.readLine();
+                if (next == null) {
+                    throw new IOException("Unterminated quoted field starting before line " + lineNumber[0]);
+                }
+                lineNumber[0]++;
+                current.append('\n');
+                line = next;
+                i = 0;
+                continue;
+            }
+
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.importer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One parsed statement line, not yet validated against the Transaction rules
+public class ImportRow {
+    private final long line; // Source line (CSV) or record number (OFX/QIF) for error reporting
+    private LocalDateTime date;
+    private BigDecimal amount;
+    private String type;
+    private String category;
+    private String description;
+    private String status;
+    private String paymentMethod;
+
+    public ImportRow(long line) {
+        this.line = line;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(String paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.importer;
+
+// Receives rows as they are parsed so the upload never has to be held in memory
+public interface ImportRowHandler {
+
+    void onRow(ImportRow row);
+
+    void onError(long line, String message);
+}
@@ -0,0 +1,23 @@
+package com.example.demo.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+public interface ImportRowParser {
+
+    void parse(Reader reader, ImportRowHandler handler) throws IOException;
+
+    static ImportRowParser forFormat(String format) {
+        switch (format == null ? "csv" : format.toLowerCase()) {
+            case "csv":
+                return new CsvRowParser();
+            case "ofx":
+            case "qfx":
+                return new OfxRowParser();
+            case "qif":
+                return new QifRowParser();
+            default:
+                throw new IllegalArgumentException("Unsupported import format: " + format);
+        }
+    }
+}
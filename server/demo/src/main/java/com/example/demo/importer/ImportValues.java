@@ -0,0 +1,60 @@
+package com.example.demo.importer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+// Lenient field parsing shared by the statement parsers
+final class ImportValues {
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("M/d/yyyy"),
+            DateTimeFormatter.ofPattern("M/d/yy"),
+            DateTimeFormatter.ofPattern("M/d''yy"),
+            DateTimeFormatter.ofPattern("yyyyMMdd"));
+
+    private ImportValues() {}
+
+    static LocalDateTime parseDate(String value) {
+        String trimmed = value.trim();
+        try {
+            return LocalDateTime.parse(trimmed);
+        } catch (DateTimeParseException ignored) {
+            // Fall through to date-only formats
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(trimmed, format).atStartOfDay();
+            } catch (DateTimeParseException ignored) {
+                // Try the next format
+            }
+        }
+        throw new IllegalArgumentException("Unrecognized date: " + value);
+    }
+
+    static BigDecimal parseAmount(String value) {
+        String cleaned = value.trim().replace(",", "").replace("$", "");
+        boolean parenthesized = cleaned.startsWith("(") && cleaned.endsWith(")");
+        if (parenthesized) {
+            cleaned = cleaned.substring(1, cleaned.length() - 1);
+        }
+        try {
+            BigDecimal amount = new BigDecimal(cleaned);
+            return parenthesized ? amount.negate() : amount;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unrecognized amount: " + value);
+        }
+    }
+
+    static String emptyToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+// OFX 1.x (SGML) and 2.x (XML) statements. Tags are scanned one at a time, so files whose
+// elements are all on a single line stream just as well as pretty-printed ones.
+public class OfxRowParser implements ImportRowParser {
+
+    @Override
+    public void parse(Reader reader, ImportRowHandler handler) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        StringBuilder tag = new StringBuilder();
+        StringBuilder value = new StringBuilder();
+
+        long record = 0;
+        String dtPosted = null;
+        String amount = null;
+        String name = null;
+        String memo = null;
+        String trnType = null;
+        boolean inTransaction = false;
+
+        int c = in.read();
+        while (c != -1) {
+            if (c != '<') {
+                c = in.read();
+                continue;
+            }
+
+            tag.setLength(0);
+            while ((c = in.read()) != -1 && c != '>') {
+                tag.append((char) c);
+            }
+            value.setLength(0);
+            while ((c = in.read()) != -1 && c != '<') {
+                value.append((char) c);
+            }
+
+            String tagName = tag.toString().trim().toUpperCase();
+            String text = value.toString().trim();
+
+            if (tagName.equals("STMTTRN")) {
+                inTransaction = true;
+                record++;
+                dtPosted = amount = name = memo = trnType = null;
+            } else if (tagName.equals("/STMTTRN")) {
+                inTransaction = false;
+                try {
+                    handler.onRow(toRow(record, dtPosted, amount, name, memo, trnType));
+                } catch (IllegalArgumentException e) {
+                    handler.onError(record, e.getMessage());
+                }
+            } else if (inTransaction && !text.isEmpty()) {
+                switch (tagName) {
+                    case "DTPOSTED" -> dtPosted = text;
+                    case "TRNAMT" -> amount = text;
+                    case "NAME" -> name = text;
+                    case "MEMO" -> memo = text;
+                    case "TRNTYPE" -> trnType = text;
+                    default -> { }
+                }
+            }
+        }
+    }
+
+    private ImportRow toRow(long record, String dtPosted, String amount, String name, String memo, String trnType) {
+        if (dtPosted == null || amount == null) {
+            throw new IllegalArgumentException("STMTTRN is missing DTPOSTED or TRNAMT");
+        }
+        ImportRow row = new ImportRow(record);
+        // DTPOSTED is YYYYMMDD[HHMMSS[.XXX]][[gmt offset:tz]]; only the date part is kept
+        row.setDate(ImportValues.parseDate(dtPosted.length() >= 8 ? dtPosted.substring(0, 8) : dtPosted));
+        row.setAmount(ImportValues.parseAmount(amount));
+        row.setDescription(name != null ? name : memo);
+        row.setPaymentMethod(trnType != null ? trnType.toLowerCase() : null);
+        return row;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+// QIF bank/card registers: D date, T/U amount, P payee, M memo, L category, ^ ends a record
+public class QifRowParser implements ImportRowParser {
+
+    @Override
+    public void parse(Reader reader, ImportRowHandler handler) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        long lineNumber = 0;
+        long recordLine = 1;
+        String date = null;
+        String amount = null;
+        String payee = null;
+        String memo = null;
+        String category = null;
+
+        String line;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty() || line.startsWith("!")) {
+                recordLine = lineNumber + 1;
+                continue;
+            }
+
+            String value = line.substring(1).trim();
+            switch (line.charAt(0)) {
+                case 'D' -> date = value;
+                case 'T', 'U' -> amount = value;
+                case 'P' -> payee = value;
+                case 'M' -> memo = value;
+                case 'L' -> category = value;
+                case '^' -> {
+                    try {
+                        handler.onRow(toRow(recordLine, date, amount, payee, memo, category));
+                    } catch (IllegalArgumentException e) {
+                        handler.onError(recordLine, e.getMessage());
+                    }
+                    date = amount = payee = memo = category = null;
+                    recordLine = lineNumber + 1;
+                }
+                default -> { }
+            }
+        }
+    }
+
+    private ImportRow toRow(long line, String date, String amount, String payee, String memo, String category) {
+        if (date == null || amount == null) {
+            throw new IllegalArgumentException("Record is missing D (date) or T (amount)");
+        }
+        ImportRow row = new ImportRow(line);
+        row.setDate(ImportValues.parseDate(date));
+        row.setAmount(ImportValues.parseAmount(amount));
+        row.setDescription(payee != null ? payee : memo);
+        // Transfers are written as [Account]; keep only plain categories
+        row.setCategory(category != null && !category.startsWith("[") ? category : null);
+        return row;
+    }
+}
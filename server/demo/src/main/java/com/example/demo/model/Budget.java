@@ -1,11 +1,16 @@
 package com.example.demo.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "budget")
+@Table(indexes = @Index(name = "idx_budget_reset_due", columnList = "budget_type, last_reset_date"))
 public class Budget {
 
     @Id
@@ -32,6 +37,11 @@ public class Budget {
     // Track when this budget was last reset
     private LocalDate lastResetDate;
 
+    // Bumped by every write, including the atomic increment queries
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     // --- Constructors ---
     public Budget() {}
 
@@ -116,6 +126,14 @@ public class Budget {
         this.lastResetDate = lastResetDate;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Budget{" +
@@ -1,9 +1,13 @@
 package com.example.demo.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "goal")
 public class Goal {
 
     @Id
@@ -18,6 +22,11 @@ public class Goal {
     private BigDecimal targetAmount;  // Amount to save
     private BigDecimal savedAmount = BigDecimal.ZERO;  // Current savings amount
 
+    // Bumped by every write, including the atomic increment queries
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     // Constructors, getters, setters
     public Goal() {}
 
@@ -67,6 +76,14 @@ public class Goal {
         this.savedAmount = savedAmount;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Goal{" +
@@ -0,0 +1,116 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// An expense flagged as an outlier for its category when it was written (see AnomalyDetectionService).
+// Rows are inserted through JdbcTemplate on the write path; the entity serves the read side.
+@Entity
+@Table(name = "transaction_anomaly",
+        uniqueConstraints = @UniqueConstraint(name = "uk_transaction_anomaly_transaction",
+                columnNames = {"transaction_id"}))
+public class TransactionAnomaly {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    private String category;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "transaction_date")
+    private LocalDateTime transactionDate;
+
+    @Column(name = "typical_amount", nullable = false)
+    private BigDecimal typicalAmount; // Category median at the time
+
+    @Column(nullable = false)
+    private BigDecimal threshold; // Amounts above this were flagged
+
+    @Column(name = "detected_at", nullable = false)
+    private LocalDateTime detectedAt;
+
+    // Constructors, getters, setters
+    public TransactionAnomaly() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public LocalDateTime getTransactionDate() {
+        return transactionDate;
+    }
+
+    public void setTransactionDate(LocalDateTime transactionDate) {
+        this.transactionDate = transactionDate;
+    }
+
+    public BigDecimal getTypicalAmount() {
+        return typicalAmount;
+    }
+
+    public void setTypicalAmount(BigDecimal typicalAmount) {
+        this.typicalAmount = typicalAmount;
+    }
+
+    public BigDecimal getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(BigDecimal threshold) {
+        this.threshold = threshold;
+    }
+
+    public LocalDateTime getDetectedAt() {
+        return detectedAt;
+    }
+
+    public void setDetectedAt(LocalDateTime detectedAt) {
+        this.detectedAt = detectedAt;
+    }
+}
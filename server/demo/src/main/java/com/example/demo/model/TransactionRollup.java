@@ -0,0 +1,116 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Running total of a user's transactions for one (type, category, month) bucket
+@Entity
+@Table(name = "transaction_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_bucket",
+                columnNames = {"user_id", "type", "category", "period_start"}))
+public class TransactionRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String type; // "" when the transaction has no type
+
+    @Column(nullable = false)
+    private String category; // "" when the transaction has no category
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart; // First day of the month
+
+    @Column(nullable = false)
+    private BigDecimal total = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private long transactionCount;
+
+    // Constructors, getters, setters
+    public TransactionRollup() {}
+
+    public TransactionRollup(Long userId, String type, String category, LocalDate periodStart,
+                             BigDecimal total, long transactionCount) {
+        this.userId = userId;
+        this.type = type;
+        this.category = category;
+        this.periodStart = periodStart;
+        this.total = total;
+        this.transactionCount = transactionCount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionRollup{" +
+                "userId=" + userId +
+                ", type='" + type + '\'' +
+                ", category='" + category + '\'' +
+                ", periodStart=" + periodStart +
+                ", total=" + total +
+                ", transactionCount=" + transactionCount +
+                '}';
+    }
+}
@@ -1,13 +1,80 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.BudgetProgressDTO;
 import com.example.demo.model.Budget;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
-    // Find budgets by user ID
+    // Find budgets by user ID; served from the query cache until a budget row changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Budget> findByUserId(Long userId);
+
+    // Dashboard progress rows without loading the entities or their users
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.example.demo.dto.BudgetProgressDTO(b.id, b.category, b.budgetType, b.amount, b.spentAmount) " +
+            "FROM Budget b WHERE b.user.id = :userId ORDER BY b.id")
+    List<BudgetProgressDTO> findProgressByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT b.user.id FROM Budget b")
+    List<Long> findDistinctUserIds();
+
+    // Budgets of one type whose period started before periodStart; served by idx_budget_reset_due
+    @Query("SELECT b FROM Budget b WHERE b.budgetType = :budgetType " +
+            "AND (b.lastResetDate IS NULL OR b.lastResetDate < :periodStart) ORDER BY b.id")
+    List<Budget> findDueForReset(@Param("budgetType") String budgetType,
+                                 @Param("periodStart") LocalDate periodStart,
+                                 Pageable pageable);
+
+    // Same filter, ids only; reset rows stop matching so the job always takes the first page
+    @Query("SELECT b.id FROM Budget b WHERE b.budgetType = :budgetType " +
+            "AND (b.lastResetDate IS NULL OR b.lastResetDate < :periodStart) ORDER BY b.id")
+    List<Long> findIdsDueForReset(@Param("budgetType") String budgetType,
+                                  @Param("periodStart") LocalDate periodStart,
+                                  Pageable pageable);
+
+    // Owners of a reset batch, so each user's change can be published
+    @Query("SELECT DISTINCT b.user.id FROM Budget b WHERE b.id IN :ids")
+    List<Long> findUserIdsByIdIn(@Param("ids") List<Long> ids);
+
+    // Re-checks the period so a budget reset concurrently by a write path is left alone
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Budget b SET b.spentAmount = 0, b.lastResetDate = :periodStart, b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND (b.lastResetDate IS NULL OR b.lastResetDate < :periodStart)")
+    int resetBudgets(@Param("ids") List<Long> ids, @Param("periodStart") LocalDate periodStart);
+
+    // Single-statement increment; the row lock makes concurrent postings add up exactly
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Budget b SET b.spentAmount = b.spentAmount + :amount, b.version = b.version + 1 WHERE b.id = :id")
+    int incrementSpentAmount(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    // Adds an expense to the user's category budgets whose current period contains :day,
+    // i.e. lastResetDate in (day - 1 period, day]
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Budget b SET b.spentAmount = b.spentAmount + :amount, b.version = b.version + 1 " +
+            "WHERE b.user.id = :userId AND b.category = :category AND b.lastResetDate <= :day " +
+            "AND ((b.budgetType = 'monthly' AND b.lastResetDate > :monthFloor) " +
+            "OR (b.budgetType = 'yearly' AND b.lastResetDate > :yearFloor))")
+    int postSpent(@Param("userId") Long userId,
+                  @Param("category") String category,
+                  @Param("day") LocalDate day,
+                  @Param("monthFloor") LocalDate monthFloor,
+                  @Param("yearFloor") LocalDate yearFloor,
+                  @Param("amount") BigDecimal amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Budget b SET b.spentAmount = :amount, b.version = b.version + 1 WHERE b.id = :id")
+    int overwriteSpentAmount(@Param("id") Long id, @Param("amount") BigDecimal amount);
 }
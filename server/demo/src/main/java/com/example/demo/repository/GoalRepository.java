@@ -1,12 +1,32 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.GoalProgressDTO;
 import com.example.demo.model.Goal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Repository
 public interface GoalRepository extends JpaRepository<Goal, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Goal> findByUserId(Long userId); // Fetch goals for a specific user
+
+    // Dashboard progress rows without loading the entities or their users
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.example.demo.dto.GoalProgressDTO(g.id, g.name, g.targetAmount, g.savedAmount) " +
+            "FROM Goal g WHERE g.user.id = :userId ORDER BY g.id")
+    List<GoalProgressDTO> findProgressByUserId(@Param("userId") Long userId);
+
+    // Single-statement increment; savedAmount may be null on goals created without one
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Goal g SET g.savedAmount = COALESCE(g.savedAmount, 0) + :amount, g.version = g.version + 1 WHERE g.id = :id")
+    int incrementSavedAmount(@Param("id") Long id, @Param("amount") BigDecimal amount);
 }
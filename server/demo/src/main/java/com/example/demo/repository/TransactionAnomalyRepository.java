@@ -0,0 +1,21 @@
+package com.example.demo.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.dto.AnomalyDTO;
+import com.example.demo.model.TransactionAnomaly;
+
+@Repository
+public interface TransactionAnomalyRepository extends JpaRepository<TransactionAnomaly, Long> {
+
+    // Newest first; reads only the flags, never the user's history
+    @Query("SELECT new com.example.demo.dto.AnomalyDTO(a.transactionId, a.amount, a.category, a.transactionDate, " +
+            "a.typicalAmount, a.threshold) FROM TransactionAnomaly a " +
+            "WHERE a.userId = :userId ORDER BY a.transactionDate DESC")
+    List<AnomalyDTO> findDTOsByUserId(@Param("userId") Long userId);
+}
@@ -2,20 +2,30 @@ package com.example.demo.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.demo.dto.TransactionDTO;
 import com.example.demo.model.Transaction;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    // Selected columns for the DTO read paths; t.user.id reads the foreign key without a join
+    String DTO_SELECT = "SELECT new com.example.demo.dto.TransactionDTO(t.id, t.user.id, t.amount, t.category, " +
+            "t.description, t.type, t.date, t.status, t.paymentMethod) FROM Transaction t ";
+
     @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId ORDER BY t.date DESC")
     Page<Transaction> findRecentTransactionsByUserId(Long userId, Pageable pageable);
 
@@ -24,6 +34,47 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     List<Transaction> findByUserId(Long userId);
 
+    // Newest first; a List return skips the COUNT query a Page would run
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId ORDER BY t.date DESC")
+    List<TransactionDTO> findRecentDTOsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Largest of one type since the given date, e.g. the month's biggest expenses
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId AND t.type = :type AND t.date >= :since " +
+            "ORDER BY t.amount DESC, t.id DESC")
+    List<TransactionDTO> findLargestDTOsSince(@Param("userId") Long userId, @Param("type") String type,
+                                              @Param("since") LocalDateTime since, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId")
+    List<TransactionDTO> findDTOsByUserId(@Param("userId") Long userId);
+
+    // Current state of specific rows, for delta sync
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId AND t.id IN :ids")
+    List<TransactionDTO> findDTOsByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // Keyset page: rows strictly older than the (cursorDate, cursorId) cursor, newest first
+    @Query(DTO_SELECT +
+            "WHERE t.user.id = :userId " +
+            "AND (:type IS NULL OR t.type = :type) " +
+            "AND (:category IS NULL OR t.category = :category) " +
+            "AND (:startDate IS NULL OR t.date >= :startDate) " +
+            "AND (:endDate IS NULL OR t.date <= :endDate) " +
+            "AND (:cursorDate IS NULL OR t.date < :cursorDate OR (t.date = :cursorDate AND t.id < :cursorId)) " +
+            "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionDTO> findPageByUserId(
+            @Param("userId") Long userId,
+            @Param("type") String type,
+            @Param("category") String category,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    // Server-side cursor over a user's full history; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId ORDER BY t.date DESC, t.id DESC")
+    Stream<TransactionDTO> streamByUserId(@Param("userId") Long userId);
+
     @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.user.id = :userId AND t.type = :type AND t.date BETWEEN :startDate AND :endDate")
     BigDecimal getTotalAmountByTypeAndDateRange(
             @Param("userId") Long userId,
@@ -46,4 +97,26 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
+    // Same filters as above over [startDate, endDate); used for the partial edge months of a rollup range
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
+            "WHERE t.user.id = :userId " +
+            "AND (:type IS NULL OR t.type = :type) " +
+            "AND (:category IS NULL OR t.category = :category) " +
+            "AND t.date >= :startDate AND t.date < :endDate")
+    BigDecimal getTotalByTypeCategoryInHalfOpenRange(
+            @Param("userId") Long userId,
+            @Param("type") String type,
+            @Param("category") String category,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    // Rollup source rows; each row is [type, category, year, month, sum, count]
+    @Query("SELECT t.type, t.category, year(t.date), month(t.date), COALESCE(SUM(t.amount), 0), COUNT(t) " +
+            "FROM Transaction t WHERE t.user.id = :userId " +
+            "GROUP BY t.type, t.category, year(t.date), month(t.date)")
+    List<Object[]> aggregateMonthlyByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT t.user.id FROM Transaction t")
+    List<Long> findDistinctUserIds();
+
 }
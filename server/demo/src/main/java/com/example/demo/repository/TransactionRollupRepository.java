@@ -0,0 +1,80 @@
+package com.example.demo.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.model.TransactionRollup;
+
+@Repository
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, Long> {
+
+    // Adds to a bucket, creating it on first use. The query space limits cache invalidation to this
+    // table; without it Hibernate treats a native write as touching every cached region.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "transaction_rollup"))
+    @Query(value = "INSERT INTO transaction_rollup (user_id, type, category, period_start, total, transaction_count) " +
+            "VALUES (:userId, :type, :category, :periodStart, :amount, :count) " +
+            "ON DUPLICATE KEY UPDATE total = total + VALUES(total), " +
+            "transaction_count = transaction_count + VALUES(transaction_count)",
+            nativeQuery = true)
+    void upsertDelta(@Param("userId") Long userId,
+                     @Param("type") String type,
+                     @Param("category") String category,
+                     @Param("periodStart") LocalDate periodStart,
+                     @Param("amount") BigDecimal amount,
+                     @Param("count") long count);
+
+    @Query("SELECT COALESCE(SUM(r.total), 0) FROM TransactionRollup r " +
+            "WHERE r.userId = :userId " +
+            "AND (:type IS NULL OR r.type = :type) " +
+            "AND (:category IS NULL OR r.category = :category)")
+    BigDecimal sumAllTime(@Param("userId") Long userId,
+                          @Param("type") String type,
+                          @Param("category") String category);
+
+    @Query("SELECT COALESCE(SUM(r.total), 0) FROM TransactionRollup r " +
+            "WHERE r.userId = :userId " +
+            "AND (:type IS NULL OR r.type = :type) " +
+            "AND (:category IS NULL OR r.category = :category) " +
+            "AND r.periodStart BETWEEN :fromPeriod AND :toPeriod")
+    BigDecimal sumPeriods(@Param("userId") Long userId,
+                          @Param("type") String type,
+                          @Param("category") String category,
+                          @Param("fromPeriod") LocalDate fromPeriod,
+                          @Param("toPeriod") LocalDate toPeriod);
+
+    // Each row is [type, sum]
+    @Query("SELECT r.type, COALESCE(SUM(r.total), 0) FROM TransactionRollup r " +
+            "WHERE r.userId = :userId AND r.type IN ('INCOME', 'EXPENSE') GROUP BY r.type")
+    List<Object[]> getTotalsGroupedByType(@Param("userId") Long userId);
+
+    // Each row is [periodStart, sum, count], oldest month first; includes the undated bucket
+    @Query("SELECT r.periodStart, SUM(r.total), SUM(r.transactionCount) FROM TransactionRollup r " +
+            "WHERE r.userId = :userId AND r.type = :type GROUP BY r.periodStart ORDER BY r.periodStart")
+    List<Object[]> getMonthlyTotalsByType(@Param("userId") Long userId, @Param("type") String type);
+
+    // Each row is [category, sum], largest first, over the months from fromPeriod on
+    @Query("SELECT r.category, SUM(r.total) FROM TransactionRollup r " +
+            "WHERE r.userId = :userId AND r.type = :type AND r.periodStart >= :fromPeriod " +
+            "GROUP BY r.category ORDER BY SUM(r.total) DESC")
+    List<Object[]> getCategoryTotalsSince(@Param("userId") Long userId,
+                                          @Param("type") String type,
+                                          @Param("fromPeriod") LocalDate fromPeriod);
+
+    List<TransactionRollup> findByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM TransactionRollup r WHERE r.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,42 @@
+package com.example.demo.security;
+
+import java.security.Principal;
+import java.util.List;
+
+// Authenticated caller as described by the JWT, so request handling needs no user lookup
+public class UserPrincipal implements Principal {
+    // Role of the accounts ml_server and batch jobs sign in with; granted in the users table, never at signup
+    public static final String SERVICE_ROLE = "SERVICE";
+
+    private final Long id; // Null for tokens issued before the uid claim existed
+    private final String username;
+    private final List<String> roles;
+
+    public UserPrincipal(Long id, String username, List<String> roles) {
+        this.id = id;
+        this.username = username;
+        this.roles = roles;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AnomalyDTO;
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.importer.ImportRow;
+import com.example.demo.repository.TransactionAnomalyRepository;
+import com.example.demo.util.QuantileSketch;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Flags unusually large expenses as they are written, replacing ml_server's /detect-anomalies (which
+// refit an IsolationForest over the whole history per request). Each (user, category) keeps a
+// QuantileSketch of its expense amounts in anomaly_model; a new expense is judged against the
+// sketch, then folded into it, so a write costs one locked row read and one update.
+//
+// An expense is flagged above Q3 + k * IQR (Tukey's fence; k=3 marks "far out" values), once the
+// category has enough history. The spread is floored at a fraction of the median so a fixed
+// payment like rent does not flag every cent of change. Only the high side is flagged: an
+// unusually small expense is not worth an alert.
+@Service
+public class AnomalyDetectionService {
+
+    static final String EXPENSE = "EXPENSE";
+
+    private static final String INSERT_ANOMALY_SQL = "INSERT INTO transaction_anomaly (transaction_id, user_id, " +
+            "category, amount, transaction_date, typical_amount, threshold, detected_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionAnomalyRepository anomalyRepository;
+
+    // Expenses a category needs before anything in it is flagged
+    @Value("${anomaly.min-observations:10}")
+    private int minObservations = 10;
+
+    @Value("${anomaly.iqr-multiplier:3.0}")
+    private double iqrMultiplier = 3.0;
+
+    @Value("${anomaly.min-spread:0.1}")
+    private double minSpread = 0.1;
+
+    // Most recent expenses used to seed a category's sketch the first time it is seen
+    @Value("${anomaly.seed-limit:1000}")
+    private int seedLimit = 1000;
+
+    // Before commit, inside the transaction that saved the expense: the sketch and the flag commit
+    // or roll back with it, and the row lock serializes concurrent expenses of one category
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (event.getKind() != TransactionChangedEvent.Kind.CREATED || !EXPENSE.equals(event.getType())
+                || event.getUserId() == null || event.getAmount() == null) {
+            return;
+        }
+        observe(event.getUserId(), RollupService.normalize(event.getCategory()), List.of(new Observation(
+                event.getTransactionId(), event.getAmount(), event.getCategory(), event.getDate())));
+    }
+
+    // Imports bypass the per-row events; call inside the batch's transaction with the generated ids
+    public void observeImported(Long userId, List<ImportRow> rows, List<Long> transactionIds) {
+        Map<String, List<Observation>> byCategory = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            if (EXPENSE.equals(row.getType())) {
+                byCategory.computeIfAbsent(RollupService.normalize(row.getCategory()), category -> new ArrayList<>())
+                        .add(new Observation(transactionIds.get(i), row.getAmount(), row.getCategory(), row.getDate()));
+            }
+        }
+        byCategory.forEach((category, observations) -> observe(userId, category, observations));
+    }
+
+    public List<AnomalyDTO> getAnomalies(Long userId) {
+        return anomalyRepository.findDTOsByUserId(userId);
+    }
+
+    private void observe(Long userId, String category, List<Observation> observations) {
+        QuantileSketch sketch = lockModel(userId, category, observations.get(0).transactionId);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> flagged = new ArrayList<>();
+        for (Observation observation : observations) {
+            double amount = observation.amount.doubleValue();
+            if (sketch.count() >= minObservations) {
+                double median = sketch.median();
+                double spread = Math.max(sketch.upperQuartile() - sketch.lowerQuartile(), minSpread * Math.abs(median));
+                double threshold = sketch.upperQuartile() + iqrMultiplier * spread;
+                if (amount > threshold) {
+                    flagged.add(new Object[]{observation.transactionId, userId, observation.category,
+                            observation.amount,
+                            observation.date != null ? Timestamp.valueOf(observation.date) : null,
+                            money(median), money(threshold), now});
+                }
+            }
+            sketch.add(amount);
+        }
+
+        jdbcTemplate.update("UPDATE anomaly_model SET sketch = ? WHERE user_id = ? AND category = ?",
+                sketch.toBytes(), userId, category);
+        if (!flagged.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ANOMALY_SQL, flagged);
+        }
+    }
+
+    // Reads the category's sketch with a row lock held to the end of the transaction. A category seen
+    // for the first time is created from the user's existing expenses older than firstObservedId,
+    // once, so flagging starts with the history the user already has.
+    private QuantileSketch lockModel(Long userId, String category, Long firstObservedId) {
+        List<byte[]> rows = selectForUpdate(userId, category);
+        if (rows.isEmpty()) {
+            // A concurrent first expense in the same category creates the row too; the upsert makes
+            // the second writer wait for the first and then lock the row it created
+            jdbcTemplate.update("INSERT INTO anomaly_model (user_id, category, sketch) VALUES (?, ?, ?) " +
+                            "ON DUPLICATE KEY UPDATE user_id = user_id",
+                    userId, category, seed(userId, category, firstObservedId).toBytes());
+            rows = selectForUpdate(userId, category);
+        }
+        return QuantileSketch.fromBytes(rows.get(0));
+    }
+
+    private List<byte[]> selectForUpdate(Long userId, String category) {
+        return jdbcTemplate.query("SELECT sketch FROM anomaly_model WHERE user_id = ? AND category = ? FOR UPDATE",
+                (rs, rowNum) -> rs.getBytes(1), userId, category);
+    }
+
+    private QuantileSketch seed(Long userId, String category, Long beforeId) {
+        String categoryFilter = category.isEmpty() ? "(category IS NULL OR category = '')" : "category = ?";
+        List<Object> args = new ArrayList<>(List.of(userId, EXPENSE));
+        if (!category.isEmpty()) {
+            args.add(category);
+        }
+        args.add(beforeId != null ? beforeId : Long.MAX_VALUE);
+        args.add(seedLimit);
+
+        QuantileSketch sketch = new QuantileSketch();
+        jdbcTemplate.query("SELECT amount FROM transaction WHERE user_id = ? AND type = ? AND " + categoryFilter +
+                        " AND id < ? AND amount IS NOT NULL ORDER BY date DESC LIMIT ?",
+                rs -> {
+                    sketch.add(rs.getBigDecimal(1).doubleValue());
+                }, args.toArray());
+        return sketch;
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static class Observation {
+        private final Long transactionId;
+        private final BigDecimal amount;
+        private final String category;
+        private final LocalDateTime date;
+
+        private Observation(Long transactionId, BigDecimal amount, String category, LocalDateTime date) {
+            this.transactionId = transactionId;
+            this.amount = amount;
+            this.category = category;
+            this.date = date;
+        }
+    }
+}
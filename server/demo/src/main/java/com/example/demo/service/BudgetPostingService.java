@@ -0,0 +1,207 @@
+package com.example.demo.service;
+
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.repository.BudgetRepository;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Routes committed expenses to the user's matching budgets off the request thread. Events are
+// queued after commit and applied in aggregated batches; bulk imports hand over their per-day
+// totals directly. Anything that can't be posted incrementally (queue overflow, failed batch)
+// falls back to a per-user reconcile. The queue is in memory, so events still queued when the
+// process dies are lost; budget.posting.reconcile-cron repairs the totals they would have moved.
+@Service
+public class BudgetPostingService {
+
+    private final BlockingQueue<TransactionChangedEvent> queue;
+    private final Set<Long> usersToReconcile = ConcurrentHashMap.newKeySet();
+    private final AtomicLong postedEvents = new AtomicLong();
+    private final AtomicLong overflowedEvents = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong reconciledUsers = new AtomicLong();
+    // A lock rather than synchronized: holding a monitor across JDBC calls pins a virtual thread to its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Value("${budget.posting.batch-size:1000}")
+    private int batchSize = 1000;
+
+    public BudgetPostingService(@Value("${budget.posting.queue-capacity:10000}") int queueCapacity) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    // Runs after the surrounding transaction commits, or immediately when there is none
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+
+        switch (event.getKind()) {
+            case CREATED, DELETED -> {
+                if (isPostable(event) && !queue.offer(event)) {
+                    overflowedEvents.incrementAndGet();
+                    usersToReconcile.add(event.getUserId());
+                }
+            }
+            default -> {
+                // Status does not affect spending; imports post through postImported
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${budget.posting.flush-ms:250}")
+    public void flush() {
+        lock.lock();
+        try {
+            List<TransactionChangedEvent> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                applyBatch(batch);
+                batch.clear();
+            }
+            reconcilePending();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Disabled unless budget.posting.reconcile-cron is set. Note that a reconcile overwrites any
+    // manual adjustment made through the /spent endpoints.
+    @Scheduled(cron = "${budget.posting.reconcile-cron:-}")
+    public int reconcileAll() {
+        lock.lock();
+        try {
+            flush();
+            int corrected = 0;
+            for (Long userId : budgetRepository.findDistinctUserIds()) {
+                corrected += budgetService.reconcileUser(userId);
+            }
+            System.out.println("[POSTING] Reconciled all budgets, corrected " + corrected);
+            return corrected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int reconcileUser(Long userId) {
+        lock.lock();
+        try {
+            flush();
+            return budgetService.reconcileUser(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Expense totals of an import batch that has committed, applied as deltas like queued events so
+    // manual /spent adjustments survive the import
+    public void postImported(List<SpentPosting> postings) {
+        if (postings.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            applyPostings(postings, postings.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Post whatever is still queued before the context closes
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("posted", postedEvents.get());
+        stats.put("overflowed", overflowedEvents.get());
+        stats.put("failedBatches", failedBatches.get());
+        stats.put("pendingReconcile", usersToReconcile.size());
+        stats.put("reconciledUsers", reconciledUsers.get());
+        return stats;
+    }
+
+    private void applyBatch(List<TransactionChangedEvent> batch) {
+        applyPostings(aggregate(batch), batch.size());
+    }
+
+    private void applyPostings(List<SpentPosting> postings, int events) {
+        try {
+            budgetService.applyPostings(postings);
+            postedEvents.addAndGet(events);
+        } catch (RuntimeException e) {
+            failedBatches.incrementAndGet();
+            System.out.println("[POSTING] Batch of " + events + " failed, reconciling its users: " + e.getMessage());
+            postings.forEach(posting -> usersToReconcile.add(posting.getUserId()));
+        }
+    }
+
+    private void reconcilePending() {
+        for (Long userId : new ArrayList<>(usersToReconcile)) {
+            usersToReconcile.remove(userId);
+            try {
+                budgetService.reconcileUser(userId);
+                reconciledUsers.incrementAndGet();
+            } catch (RuntimeException e) {
+                System.out.println("[POSTING] Reconcile failed for user " + userId + ": " + e.getMessage());
+                usersToReconcile.add(userId);
+            }
+        }
+    }
+
+    static boolean isPostable(TransactionChangedEvent event) {
+        return "EXPENSE".equalsIgnoreCase(event.getType())
+                && event.getCategory() != null
+                && event.getAmount() != null
+                && event.getDate() != null;
+    }
+
+    // Collapses events into one signed amount per (user, category, day); zero nets are dropped
+    static List<SpentPosting> aggregate(List<TransactionChangedEvent> events) {
+        Map<List<Object>, BigDecimal> totals = new LinkedHashMap<>();
+        for (TransactionChangedEvent event : events) {
+            BigDecimal amount = event.getKind() == TransactionChangedEvent.Kind.DELETED
+                    ? event.getAmount().negate()
+                    : event.getAmount();
+            totals.merge(List.of(event.getUserId(), event.getCategory(), event.getDate().toLocalDate()),
+                    amount, BigDecimal::add);
+        }
+
+        List<SpentPosting> postings = new ArrayList<>(totals.size());
+        for (Map.Entry<List<Object>, BigDecimal> entry : totals.entrySet()) {
+            if (entry.getValue().signum() == 0) {
+                continue;
+            }
+            List<Object> key = entry.getKey();
+            postings.add(new SpentPosting((Long) key.get(0), (String) key.get(1), (LocalDate) key.get(2), entry.getValue()));
+        }
+        return postings;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+// Rolls monthly and yearly budgets into their new period in batches, on one instance at a time
+@Component
+public class BudgetResetJob {
+
+    static final String LOCK_NAME = "budget-reset";
+
+    private static final List<String> BUDGET_TYPES = List.of("monthly", "yearly");
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Value("${budget.reset.batch-size:1000}")
+    private int batchSize = 1000;
+
+    // Longer than any realistic run; a crashed holder's lease simply expires
+    @Value("${budget.reset.lock-minutes:30}")
+    private long lockMinutes = 30;
+
+    // Hourly by default so a missed rollover (downtime at midnight) is caught up soon after
+    @Scheduled(cron = "${budget.reset.cron:0 5 * * * *}")
+    public void run() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, Duration.ofMinutes(lockMinutes))) {
+            return;
+        }
+        try {
+            resetAll();
+        } finally {
+            schedulerLockService.release(LOCK_NAME);
+        }
+    }
+
+    public int resetAll() {
+        long started = System.currentTimeMillis();
+        int total = 0;
+        for (String budgetType : BUDGET_TYPES) {
+            LocalDate periodStart = budgetService.getCurrentPeriodStart(budgetType);
+            int reset;
+            // Each batch commits on its own; reset rows no longer match the due query
+            do {
+                reset = budgetService.resetDueBudgets(budgetType, periodStart, batchSize);
+                total += reset;
+            } while (reset == batchSize);
+        }
+        if (total > 0) {
+            System.out.println("[RESET] Reset " + total + " budgets in " +
+                    (System.currentTimeMillis() - started) + " ms");
+        }
+        return total;
+    }
+}
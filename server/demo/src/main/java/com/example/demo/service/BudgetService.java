@@ -1,33 +1,65 @@
 package com.example.demo.service;
 
+import com.example.demo.event.BudgetChangedEvent;
 import com.example.demo.model.Budget;
 import com.example.demo.model.User;
 import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.TransactionRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.util.OptimisticRetry;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class BudgetService {
 
+    // Cap on the admin listing of due budgets, per budget type
+    private static final int MAX_DUE_LISTING = 1000;
+
     @Autowired
     private BudgetRepository budgetRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    // Every write publishes a BudgetChangedEvent inside its transaction; the change log is written
+    // before commit, the other listeners (ETag versions, live updates) run after it
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Retried writes open one transaction per attempt, so each re-read sees the winning write
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     // Create or update a budget for a specific user
     public Budget saveBudget(Long userId, Budget budget) {
         if (budget == null) {
             throw new IllegalArgumentException("Budget cannot be null.");
         }
+        if (budget.getId() != null && budgetRepository.existsById(budget.getId())) {
+            return OptimisticRetry.run(() -> transactionTemplate.execute(status -> {
+                Budget updated = updateBudgetDefinition(userId, budget);
+                eventPublisher.publishEvent(BudgetChangedEvent.updated(userId, budget.getId()));
+                return updated;
+            }));
+        }
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -41,25 +73,50 @@ public class BudgetService {
             budget.setLastResetDate(getCurrentPeriodStart(budget.getBudgetType()));
         }
 
+        return transactionTemplate.execute(status -> {
+            Budget saved = budgetRepository.save(budget);
+            eventPublisher.publishEvent(BudgetChangedEvent.updated(userId, saved.getId()));
+            return saved;
+        });
+    }
+
+    // Copies the editable fields onto the stored budget; spentAmount and the reset date are
+    // owned by the spent/reset endpoints, so an edit can't roll back concurrent postings
+    private Budget updateBudgetDefinition(Long userId, Budget changes) {
+        Budget budget = budgetRepository.findById(changes.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Budget not found."));
+        if (!budget.getUser().getId().equals(userId)) {
+            throw new IllegalArgumentException("Budget does not belong to the specified user.");
+        }
+
+        budget.setCategory(changes.getCategory());
+        budget.setAmount(changes.getAmount());
+        budget.setDescription(changes.getDescription());
+        budget.setBudgetType(changes.getBudgetType());
         return budgetRepository.save(budget);
     }
 
-    // Get a budget by its ID and user ID (with reset check)
+    // Get a budget by its ID and user ID (read-only; BudgetResetJob rolls periods over)
     public Optional<Budget> getBudgetById(Long userId, Long budgetId) {
         return budgetRepository.findById(budgetId)
-                .filter(budget -> budget.getUser().getId().equals(userId))
-                .map(this::checkAndResetBudget);
+                .filter(budget -> budget.getUser().getId().equals(userId));
     }
 
-    // Get all budgets for a specific user (with reset check)
+    // Get all budgets for a specific user (read-only; BudgetResetJob rolls periods over)
     public List<Budget> getBudgetsByUserId(Long userId) {
-        List<Budget> budgets = budgetRepository.findByUserId(userId);
-        budgets.forEach(this::checkAndResetBudget);
-        return budgets;
+        return budgetRepository.findByUserId(userId);
     }
 
-    // Update spent amount for a budget
+    // Update spent amount for a budget; retried if another write bumps the version first
     public Budget updateSpentAmount(Long userId, Long budgetId, BigDecimal newSpentAmount) {
+        return OptimisticRetry.run(() -> transactionTemplate.execute(status -> {
+            Budget updated = setSpentAmount(userId, budgetId, newSpentAmount);
+            eventPublisher.publishEvent(BudgetChangedEvent.spent(userId, budgetId));
+            return updated;
+        }));
+    }
+
+    private Budget setSpentAmount(Long userId, Long budgetId, BigDecimal newSpentAmount) {
         Optional<Budget> budgetOpt = budgetRepository.findById(budgetId);
         if (budgetOpt.isPresent()) {
             Budget budget = budgetOpt.get();
@@ -78,7 +135,9 @@ public class BudgetService {
         }
     }
 
-    // Add to spent amount (useful when adding new expenses)
+    // Add to spent amount (useful when adding new expenses). Both the rollover and the
+    // increment are single UPDATEs, so concurrent postings are never lost.
+    @Transactional
     public Budget addToSpentAmount(Long userId, Long budgetId, BigDecimal amountToAdd) {
         Optional<Budget> budgetOpt = budgetRepository.findById(budgetId);
         if (budgetOpt.isPresent()) {
@@ -87,20 +146,103 @@ public class BudgetService {
                 throw new IllegalArgumentException("Budget does not belong to the specified user.");
             }
 
-            // Check and reset budget first
-            budget = checkAndResetBudget(budget);
+            // Roll a stale budget over first; the UPDATE re-checks the period, so only one poster resets
+            if (budgetNeedsReset(budget)) {
+                budgetRepository.resetBudgets(List.of(budgetId), getCurrentPeriodStart(budget.getBudgetType()));
+            }
 
-            // Add to spent amount
-            BigDecimal currentSpent = budget.getSpentAmount() != null ? budget.getSpentAmount() : BigDecimal.ZERO;
-            budget.setSpentAmount(currentSpent.add(amountToAdd));
-            return budgetRepository.save(budget);
+            budgetRepository.incrementSpentAmount(budgetId, amountToAdd);
+            eventPublisher.publishEvent(BudgetChangedEvent.spent(userId, budgetId));
+            return budgetRepository.findById(budgetId)
+                    .orElseThrow(() -> new IllegalArgumentException("Budget not found."));
         } else {
             throw new IllegalArgumentException("Budget not found.");
         }
     }
 
+    // Applies one flush of aggregated expense postings (see BudgetPostingService). Stale
+    // budgets roll over first so new-period expenses never land on the previous period.
+    @Transactional
+    public int applyPostings(List<SpentPosting> postings) {
+        Set<Long> rolledOver = new HashSet<>();
+        Set<Long> changedUsers = new HashSet<>();
+        int updated = 0;
+        for (SpentPosting posting : postings) {
+            if (rolledOver.add(posting.getUserId()) && rollOverStaleBudgets(posting.getUserId()) > 0) {
+                changedUsers.add(posting.getUserId());
+            }
+            LocalDate day = posting.getDay();
+            int posted = budgetRepository.postSpent(posting.getUserId(), posting.getCategory(), day,
+                    day.minusMonths(1), day.minusYears(1), posting.getAmount());
+            if (posted > 0) {
+                changedUsers.add(posting.getUserId());
+            }
+            updated += posted;
+        }
+        // Most expenses have no matching budget; only users whose budgets moved are published
+        for (Long userId : changedUsers) {
+            eventPublisher.publishEvent(BudgetChangedEvent.spent(userId, null));
+        }
+        return updated;
+    }
+
+    // Recomputes the user's budgets from the expenses inside each budget's current period;
+    // returns how many budgets were corrected
+    @Transactional
+    public int reconcileUser(Long userId) {
+        int rolledOver = rollOverStaleBudgets(userId);
+
+        int corrected = 0;
+        for (Budget budget : budgetRepository.findByUserId(userId)) {
+            LocalDate periodStart = budget.getLastResetDate();
+            LocalDate periodEnd = getPeriodEnd(budget);
+            // Postings match on category, so a budget without one never receives any
+            if (budget.getCategory() == null || periodStart == null || periodEnd == null) {
+                continue;
+            }
+
+            BigDecimal actual = transactionRepository.getTotalByTypeCategoryInHalfOpenRange(userId, "EXPENSE",
+                    budget.getCategory(), periodStart.atStartOfDay(), periodEnd.atStartOfDay());
+            if (budget.getSpentAmount() == null || actual.compareTo(budget.getSpentAmount()) != 0) {
+                budgetRepository.overwriteSpentAmount(budget.getId(), actual);
+                corrected++;
+            }
+        }
+        // reconcileAll visits every user (budget.posting.reconcile-cron, synthetic data generation);
+        // users whose budgets were already right keep their version
+        if (rolledOver + corrected > 0) {
+            eventPublisher.publishEvent(BudgetChangedEvent.updated(userId, null));
+        }
+        return corrected;
+    }
+
+    // Returns how many budgets were rolled over
+    private int rollOverStaleBudgets(Long userId) {
+        int rolledOver = 0;
+        for (Budget budget : budgetRepository.findByUserId(userId)) {
+            if (budgetNeedsReset(budget)) {
+                budgetRepository.resetBudgets(List.of(budget.getId()), getCurrentPeriodStart(budget.getBudgetType()));
+                rolledOver++;
+            }
+        }
+        return rolledOver;
+    }
+
+    // Exclusive end of the budget's current period, or null for an unknown budget type
+    private LocalDate getPeriodEnd(Budget budget) {
+        if (budget.getLastResetDate() == null) {
+            return null;
+        }
+        if ("monthly".equalsIgnoreCase(budget.getBudgetType())) {
+            return budget.getLastResetDate().plusMonths(1);
+        } else if ("yearly".equalsIgnoreCase(budget.getBudgetType())) {
+            return budget.getLastResetDate().plusYears(1);
+        }
+        return null;
+    }
+
     // Helper method to get the current period start date
-    private LocalDate getCurrentPeriodStart(String budgetType) {
+    LocalDate getCurrentPeriodStart(String budgetType) {
         LocalDate today = LocalDate.now();
 
         if ("monthly".equalsIgnoreCase(budgetType)) {
@@ -112,26 +254,12 @@ public class BudgetService {
         return today; // fallback
     }
 
-    // Enhanced auto-reset logic for rolling budgets
+    // Write paths still roll a stale budget over before changing it, so spending made before
+    // the next BudgetResetJob run never lands on the previous period. Uses the same period
+    // boundaries as the job.
     private Budget checkAndResetBudget(Budget budget) {
-        LocalDate today = LocalDate.now();
-        LocalDate newResetDate = null;
-
-        if ("monthly".equalsIgnoreCase(budget.getBudgetType())) {
-            LocalDate nextResetDate = budget.getLastResetDate().plusMonths(1);
-
-            if (!today.isBefore(nextResetDate)) { // today >= nextResetDate
-                newResetDate = nextResetDate; // reset to next period start
-            }
-        } else if ("yearly".equalsIgnoreCase(budget.getBudgetType())) {
-            LocalDate nextResetDate = budget.getLastResetDate().plusYears(1);
-
-            if (!today.isBefore(nextResetDate)) { // today >= nextResetDate
-                newResetDate = nextResetDate;
-            }
-        }
-
-        if (newResetDate != null) {
+        if (budgetNeedsReset(budget)) {
+            LocalDate newResetDate = getCurrentPeriodStart(budget.getBudgetType());
             budget.setSpentAmount(BigDecimal.ZERO);
             budget.setLastResetDate(newResetDate);
             budget = budgetRepository.save(budget);
@@ -147,6 +275,14 @@ public class BudgetService {
 
     // Force reset a budget (useful for testing or manual resets)
     public Budget forceResetBudget(Long userId, Long budgetId) {
+        return OptimisticRetry.run(() -> transactionTemplate.execute(status -> {
+            Budget reset = resetBudget(userId, budgetId);
+            eventPublisher.publishEvent(BudgetChangedEvent.reset(userId, budgetId));
+            return reset;
+        }));
+    }
+
+    private Budget resetBudget(Long userId, Long budgetId) {
         Optional<Budget> budgetOpt = budgetRepository.findById(budgetId);
         if (budgetOpt.isPresent()) {
             Budget budget = budgetOpt.get();
@@ -164,14 +300,30 @@ public class BudgetService {
 
     // Get budgets that need to be reset (for batch processing)
     public List<Budget> getBudgetsNeedingReset() {
-        List<Budget> allBudgets = budgetRepository.findAll();
-        return allBudgets.stream()
-                .filter(this::budgetNeedsReset)
-                .toList();
+        List<Budget> due = new ArrayList<>();
+        for (String budgetType : List.of("monthly", "yearly")) {
+            due.addAll(budgetRepository.findDueForReset(budgetType, getCurrentPeriodStart(budgetType),
+                    PageRequest.of(0, MAX_DUE_LISTING)));
+        }
+        return due;
+    }
+
+    // Resets up to batchSize due budgets of one type in a single UPDATE; returns how many were selected
+    @Transactional
+    public int resetDueBudgets(String budgetType, LocalDate periodStart, int batchSize) {
+        List<Long> ids = budgetRepository.findIdsDueForReset(budgetType, periodStart, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        budgetRepository.resetBudgets(ids, periodStart);
+        for (Long userId : budgetRepository.findUserIdsByIdIn(ids)) {
+            eventPublisher.publishEvent(BudgetChangedEvent.reset(userId, null));
+        }
+        return ids.size();
     }
 
     // Check if a budget needs reset without actually resetting it
-    private boolean budgetNeedsReset(Budget budget) {
+    public boolean budgetNeedsReset(Budget budget) {
         LocalDate today = LocalDate.now();
 
         if ("monthly".equalsIgnoreCase(budget.getBudgetType())) {
@@ -187,10 +339,12 @@ public class BudgetService {
     }
 
     // Delete a budget by its ID and user ID
+    @Transactional
     public void deleteBudget(Long userId, Long budgetId) {
         Optional<Budget> budget = budgetRepository.findById(budgetId);
         if (budget.isPresent() && budget.get().getUser().getId().equals(userId)) {
             budgetRepository.deleteById(budgetId);
+            eventPublisher.publishEvent(new BudgetChangedEvent(BudgetChangedEvent.Kind.DELETED, userId, budgetId));
         } else {
             throw new IllegalArgumentException("Budget not found or does not belong to the specified user.");
         }
@@ -0,0 +1,54 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Trims the change log to the retention window, on one instance at a time. Clients whose token
+// predates the oldest retained entry get a full sync instead of a delta.
+@Component
+public class ChangeLogPurgeJob {
+
+    static final String LOCK_NAME = "change-log-purge";
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Value("${sync.retention-days:30}")
+    private long retentionDays = 30;
+
+    @Value("${sync.purge.batch-size:10000}")
+    private int batchSize = 10000;
+
+    @Value("${sync.purge.lock-minutes:30}")
+    private long lockMinutes = 30;
+
+    @Scheduled(cron = "${sync.purge.cron:0 30 3 * * *}")
+    public void run() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, Duration.ofMinutes(lockMinutes))) {
+            return;
+        }
+        try {
+            purge();
+        } finally {
+            schedulerLockService.release(LOCK_NAME);
+        }
+    }
+
+    public int purge() {
+        long started = System.currentTimeMillis();
+        int deleted = changeLogService.purgeOlderThan(LocalDateTime.now().minusDays(retentionDays), batchSize);
+        if (deleted > 0) {
+            System.out.println("[SYNC] Purged " + deleted + " change log entries older than " + retentionDays +
+                    " days in " + (System.currentTimeMillis() - started) + " ms");
+        }
+        return deleted;
+    }
+}
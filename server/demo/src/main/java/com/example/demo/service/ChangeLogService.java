@@ -0,0 +1,159 @@
+package com.example.demo.service;
+
+import com.example.demo.event.BudgetChangedEvent;
+import com.example.demo.event.GoalChangedEvent;
+import com.example.demo.event.TransactionChangedEvent;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Append-only change_log behind the delta sync API. Entries are written before commit, inside the
+// transaction that made the change, so a change and its entry commit or roll back together. Every
+// publisher of these events runs in a transaction; without one the listeners are skipped rather
+// than writing an entry for a change that may not have happened.
+// JdbcTemplate rather than an entity: the table is never read through Hibernate, and native
+// writes through Hibernate would invalidate every second-level cache region.
+@Service
+public class ChangeLogService {
+
+    public static final String TRANSACTION = "TRANSACTION";
+    public static final String BUDGET = "BUDGET";
+    public static final String GOAL = "GOAL";
+
+    public static final String UPSERT = "UPSERT";
+    public static final String DELETE = "DELETE";
+
+    private static final String INSERT_SQL = "INSERT INTO change_log " +
+            "(user_id, entity_type, entity_id, operation, changed_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        // Imports record their rows per batch (see recordTransactions)
+        if (event.getKind() == TransactionChangedEvent.Kind.IMPORTED || event.getUserId() == null) {
+            return;
+        }
+        record(event.getUserId(), TRANSACTION, event.getTransactionId(),
+                event.getKind() == TransactionChangedEvent.Kind.DELETED ? DELETE : UPSERT);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        record(event.getUserId(), BUDGET, event.getBudgetId(),
+                event.getKind() == BudgetChangedEvent.Kind.DELETED ? DELETE : UPSERT);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onGoalChanged(GoalChangedEvent event) {
+        record(event.getUserId(), GOAL, event.getGoalId(),
+                event.getKind() == GoalChangedEvent.Kind.DELETED ? DELETE : UPSERT);
+    }
+
+    // Bulk inserts; call inside the transaction that inserted the rows
+    public void recordTransactions(Long userId, List<Long> transactionIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactionIds, transactionIds.size(), (ps, id) -> {
+            ps.setLong(1, userId);
+            ps.setString(2, TRANSACTION);
+            ps.setLong(3, id);
+            ps.setString(4, UPSERT);
+            ps.setTimestamp(5, now);
+        });
+    }
+
+    private void record(Long userId, String entityType, Long entityId, String operation) {
+        jdbcTemplate.update(INSERT_SQL, userId, entityType, entityId, operation, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    // Entries after the given sequence, oldest first; at most limit rows
+    public List<Change> findAfter(Long userId, long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, entity_type, entity_id, operation, changed_at FROM change_log " +
+                        "WHERE user_id = ? AND id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new Change(rs.getLong("id"), rs.getString("entity_type"),
+                        rs.getObject("entity_id", Long.class), rs.getString("operation"),
+                        rs.getTimestamp("changed_at").toLocalDateTime()),
+                userId, afterId, limit);
+    }
+
+    // Sequence of the newest entry (any user) written before the cutoff, or 0. Walks the changed_at
+    // index from the end, so it costs one index probe however long the log is.
+    public long latestIdBefore(LocalDateTime cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM change_log WHERE changed_at < ? ORDER BY changed_at DESC, id DESC LIMIT 1",
+                Long.class, Timestamp.valueOf(cutoff));
+        return ids.isEmpty() ? 0 : ids.get(0);
+    }
+
+    // [oldest retained id, newest id] across all users, or null while the log is empty
+    public long[] retainedRange() {
+        return jdbcTemplate.queryForObject("SELECT MIN(id), MAX(id) FROM change_log",
+                (rs, rowNum) -> rs.getObject(1) == null ? null : new long[]{rs.getLong(1), rs.getLong(2)});
+    }
+
+    // Deletes entries older than the cutoff in id ranges of batchSize, each its own statement.
+    // The newest entry is always kept so retainedRange() can still tell which tokens predate the purge.
+    public int purgeOlderThan(LocalDateTime cutoff, int batchSize) {
+        long[] range = retainedRange();
+        Long purgeTo = jdbcTemplate.queryForObject("SELECT MAX(id) FROM change_log WHERE changed_at < ?",
+                Long.class, Timestamp.valueOf(cutoff));
+        if (range == null || purgeTo == null) {
+            return 0;
+        }
+        purgeTo = Math.min(purgeTo, range[1] - 1);
+
+        int deleted = 0;
+        for (long from = range[0] - 1; from < purgeTo; from += batchSize) {
+            deleted += jdbcTemplate.update("DELETE FROM change_log WHERE id > ? AND id <= ?",
+                    from, Math.min(from + batchSize, purgeTo));
+        }
+        return deleted;
+    }
+
+    public static class Change {
+
+        private final long id;
+        private final String entityType;
+        private final Long entityId;
+        private final String operation;
+        private final LocalDateTime changedAt;
+
+        public Change(long id, String entityType, Long entityId, String operation, LocalDateTime changedAt) {
+            this.id = id;
+            this.entityType = entityType;
+            this.entityId = entityId;
+            this.operation = operation;
+            this.changedAt = changedAt;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getEntityType() {
+            return entityType;
+        }
+
+        // Null when several of the user's rows of this type changed at once
+        public Long getEntityId() {
+            return entityId;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public LocalDateTime getChangedAt() {
+            return changedAt;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AnomalyDTO;
+import com.example.demo.dto.BudgetProgressDTO;
+import com.example.demo.dto.ChatContextDTO;
+import com.example.demo.dto.GoalProgressDTO;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.GoalRepository;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.TransactionRollupRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Financial context for ml_server's /chat, which used to fetch the full transaction, budget and goal
+// lists on every message and put them in the prompt. The context is built once and reused until
+// the user's data changes: each entry is stored with the user's DataVersionService version tag,
+// which the transaction, budget and goal services move after every committed write, so a
+// mismatched tag is the invalidation. "This month" and "recent" move with the clock, so the tag
+// also carries the month and a TTL-long time window; the same tag is the endpoint's ETag, and a
+// client's copy stops matching once either moves on.
+@Service
+public class ChatContextService {
+
+    static final String INCOME = "INCOME";
+    static final String EXPENSE = "EXPENSE";
+    static final int TOP_CATEGORIES = 5;
+    // Months, the current one included, that the top categories are taken over
+    static final int CATEGORY_MONTHS = 3;
+    static final int NOTABLE_TRANSACTIONS = 5;
+    static final int NOTABLE_DAYS = 30;
+
+    private static class Entry {
+        private final String version;
+        private final ChatContextDTO context;
+
+        private Entry(String version, ChatContextDTO context) {
+            this.version = version;
+            this.context = context;
+        }
+    }
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final int maxEntries;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private AnomalyDetectionService anomalyDetectionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${chat.cache.ttl-minutes:60}")
+    private long ttlMinutes = 60;
+
+    public ChatContextService(@Value("${chat.cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    // The tag covering everything the context is built from, including the clock
+    public String version(Long userId) {
+        return version(userId, LocalDateTime.now());
+    }
+
+    String version(Long userId, LocalDateTime now) {
+        String data = dataVersionService.etag(userId, DataVersionService.Resource.TRANSACTIONS,
+                DataVersionService.Resource.BUDGETS, DataVersionService.Resource.GOALS);
+        long window = now.toEpochSecond(ZoneOffset.UTC) / 60 / Math.max(1, ttlMinutes);
+        // Appended inside the quotes, keeping it a strong ETag
+        return data.substring(0, data.length() - 1) + "-" + YearMonth.from(now) + "." + window + "\"";
+    }
+
+    public ChatContextDTO getContext(Long userId) {
+        // Read before building: a write landing during the build leaves an entry that is already
+        // out of date, and the next read rebuilds it. A matching tag also means the same window,
+        // so the entry is never older than the TTL.
+        String version = version(userId);
+        Entry current = entries.get(userId);
+        if (current != null && current.version.equals(version)) {
+            hits.incrementAndGet();
+            return current.context;
+        }
+
+        misses.incrementAndGet();
+        ChatContextDTO context = build(userId);
+        if (current == null && entries.size() >= maxEntries) {
+            evictOne();
+        }
+        entries.put(userId, new Entry(version, context));
+        return context;
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        FunctionCounter.builder("app.chat.context.cache.gets", hits, AtomicLong::get)
+                .description("Chat context requests by whether a current context was cached")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.chat.context.cache.gets", misses, AtomicLong::get)
+                .description("Chat context requests by whether a current context was cached")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("app.chat.context.cache.size", entries, Map::size)
+                .description("Users with a cached chat context")
+                .register(meterRegistry);
+    }
+
+    private ChatContextDTO build(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate thisMonth = YearMonth.from(now).atDay(1);
+
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        for (Object[] row : rollupRepository.getTotalsGroupedByType(userId)) {
+            if (INCOME.equals(row[0])) {
+                totalIncome = (BigDecimal) row[1];
+            } else if (EXPENSE.equals(row[0])) {
+                totalExpense = (BigDecimal) row[1];
+            }
+        }
+        BigDecimal monthIncome = rollupRepository.sumPeriods(userId, INCOME, null, thisMonth, thisMonth);
+        BigDecimal monthExpense = rollupRepository.sumPeriods(userId, EXPENSE, null, thisMonth, thisMonth);
+
+        List<BudgetProgressDTO> budgets = budgetRepository.findProgressByUserId(userId);
+        List<GoalProgressDTO> goals = goalRepository.findProgressByUserId(userId);
+
+        Map<String, BigDecimal> topCategories = new LinkedHashMap<>();
+        for (Object[] row : rollupRepository.getCategoryTotalsSince(userId, EXPENSE,
+                thisMonth.minusMonths(CATEGORY_MONTHS - 1))) {
+            if (topCategories.size() == TOP_CATEGORIES) {
+                break;
+            }
+            String category = (String) row[0];
+            topCategories.put(category.isEmpty() ? "Uncategorized" : category, (BigDecimal) row[1]);
+        }
+
+        List<TransactionDTO> notable = transactionRepository.findLargestDTOsSince(userId, EXPENSE,
+                now.minusDays(NOTABLE_DAYS), PageRequest.of(0, NOTABLE_TRANSACTIONS));
+        Set<Long> flagged = anomalyDetectionService.getAnomalies(userId).stream()
+                .map(AnomalyDTO::getId).collect(Collectors.toSet());
+
+        String summary = summarize(totalIncome, totalExpense, monthIncome, monthExpense, budgets, goals,
+                topCategories, notable, flagged);
+        return new ChatContextDTO(userId, now, totalIncome, totalExpense, monthIncome, monthExpense, budgets, goals,
+                topCategories, notable, summary);
+    }
+
+    // One line per section, so the prompt stays short however long the history
+    static String summarize(BigDecimal totalIncome, BigDecimal totalExpense, BigDecimal monthIncome,
+                            BigDecimal monthExpense, List<BudgetProgressDTO> budgets, List<GoalProgressDTO> goals,
+                            Map<String, BigDecimal> topCategories, List<TransactionDTO> notable, Set<Long> flagged) {
+        StringBuilder summary = new StringBuilder()
+                .append("Totals: income ").append(plain(totalIncome))
+                .append(", expenses ").append(plain(totalExpense))
+                .append(", net savings ").append(plain(totalIncome.subtract(totalExpense)))
+                .append(". This month: income ").append(plain(monthIncome))
+                .append(", expenses ").append(plain(monthExpense)).append(".\n");
+
+        summary.append("Budgets: ").append(budgets.isEmpty() ? "none" : budgets.stream()
+                .map(budget -> budget.getCategory() + " (" + budget.getBudgetType() + ") " +
+                        plain(budget.getSpentAmount()) + " of " + plain(budget.getAmount()) + " spent, " +
+                        plain(budget.getRemaining()) + " left (" + budget.getPercentUsed() + "%)")
+                .collect(Collectors.joining("; "))).append(".\n");
+
+        summary.append("Savings goals: ").append(goals.isEmpty() ? "none" : goals.stream()
+                .map(goal -> goal.getName() + " " + plain(goal.getSavedAmount()) + " of " +
+                        plain(goal.getTargetAmount()) + " saved (" + goal.getPercentComplete() + "%)")
+                .collect(Collectors.joining("; "))).append(".\n");
+
+        summary.append("Top expense categories (last ").append(CATEGORY_MONTHS).append(" months): ")
+                .append(topCategories.isEmpty() ? "none" : topCategories.entrySet().stream()
+                        .map(category -> category.getKey() + " " + plain(category.getValue()))
+                        .collect(Collectors.joining("; "))).append(".\n");
+
+        summary.append("Largest expenses (last ").append(NOTABLE_DAYS).append(" days): ");
+        if (notable.isEmpty()) {
+            summary.append("none");
+        }
+        for (Iterator<TransactionDTO> iterator = notable.iterator(); iterator.hasNext(); ) {
+            TransactionDTO transaction = iterator.next();
+            summary.append(transaction.getDate().toLocalDate()).append(' ')
+                    .append(transaction.getCategory() != null ? transaction.getCategory() : "Uncategorized")
+                    .append(' ').append(plain(transaction.getAmount()));
+            if (transaction.getDescription() != null && !transaction.getDescription().isBlank()) {
+                summary.append(" \"").append(transaction.getDescription()).append('"');
+            }
+            if (flagged.contains(transaction.getId())) {
+                summary.append(" (unusually large for its category)");
+            }
+            if (iterator.hasNext()) {
+                summary.append("; ");
+            }
+        }
+        return summary.append('.').toString();
+    }
+
+    private static String plain(BigDecimal amount) {
+        return amount != null ? amount.toPlainString() : "0";
+    }
+
+    private void evictOne() {
+        Iterator<Long> iterator = entries.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -1,31 +1,152 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.BudgetProgressDTO;
 import com.example.demo.dto.DashboardSummaryDTO;
-import com.example.demo.model.Transaction;
+import com.example.demo.dto.GoalProgressDTO;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.GoalRepository;
 import com.example.demo.repository.TransactionRepository;
+import com.example.demo.util.QueryCounter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @Service
 public class DashboardService {
 
+    private static final int RECENT_LIMIT = 5;
+
+    // The independent reads run side by side on this pool. Each running read holds a pooled
+    // connection, so the thread count caps how much of the Hikari pool the fan-out can take;
+    // when the pool and its queue are full the request thread runs the read itself.
+    private final ExecutorService executor;
+
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private DashboardTotalsCache totalsCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Sections still outstanding at the deadline are left out and listed in missingSections
+    @Value("${dashboard.deadline-ms:1000}")
+    private long deadlineMs = 1000;
+
+    public DashboardService(@Value("${dashboard.executor.threads:8}") int threads,
+                            @Value("${dashboard.executor.queue-capacity:100}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "dashboard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
     public DashboardSummaryDTO getDashboardSummary(Long userId) {
-       
-        List<Transaction> transactions = transactionRepository.findRecentTransactionsByUserId(userId, PageRequest.of(0, 5)).getContent();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+
+        CompletableFuture<List<TransactionDTO>> recent =
+                submit(() -> transactionRepository.findRecentDTOsByUserId(userId, PageRequest.of(0, RECENT_LIMIT)));
+        CompletableFuture<DashboardTotalsCache.Totals> totals =
+                submit(() -> totalsCache.get(userId, () -> loadTotals(userId)));
+        CompletableFuture<List<BudgetProgressDTO>> budgets = submit(() -> budgetRepository.findProgressByUserId(userId));
+        CompletableFuture<List<GoalProgressDTO>> goals = submit(() -> goalRepository.findProgressByUserId(userId));
+
+        List<String> missing = new ArrayList<>();
+        List<TransactionDTO> transactions = await(recent, deadline, "recentTransactions", userId, missing, List.of());
+        DashboardTotalsCache.Totals sums = await(totals, deadline, "totals", userId, missing, null);
+        List<BudgetProgressDTO> budgetProgress = await(budgets, deadline, "budgets", userId, missing, List.of());
+        List<GoalProgressDTO> goalProgress = await(goals, deadline, "goals", userId, missing, List.of());
+
+        // Without totals the amounts are null rather than zero, so the client can tell them apart
+        BigDecimal totalIncome = sums != null ? sums.getIncome() : null;
+        BigDecimal totalExpense = sums != null ? sums.getExpense() : null;
+        BigDecimal netSavings = sums != null ? totalIncome.subtract(totalExpense) : null;
+
+        DashboardSummaryDTO summary = new DashboardSummaryDTO(totalIncome, totalExpense, netSavings, transactions);
+        summary.setBudgets(budgetProgress);
+        summary.setGoals(goalProgress);
+        summary.setMissingSections(missing);
+        return summary;
+    }
 
-        BigDecimal totalIncome = transactionRepository.getTotalAmountByType(userId, "INCOME");
-        BigDecimal totalExpense = transactionRepository.getTotalAmountByType(userId, "EXPENSE");
+    public Map<String, Object> getCacheStats() {
+        return totalsCache.getStats();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> read) {
+        return CompletableFuture.supplyAsync(read, task -> executor.execute(QueryCounter.propagate(task)));
+    }
+
+    private <T> T await(CompletableFuture<T> future, long deadline, String section, Long userId,
+                        List<String> missing, T fallback) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // The read keeps its connection until it finishes; only the response stops waiting
+            System.out.println("[DASHBOARD] " + section + " missed the " + deadlineMs + " ms deadline for user " + userId);
+        } catch (ExecutionException e) {
+            System.out.println("[DASHBOARD] " + section + " failed for user " + userId + ": " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        meterRegistry.counter("app.dashboard.missing_sections", "section", section).increment();
+        missing.add(section);
+        return fallback;
+    }
 
+    private DashboardTotalsCache.Totals loadTotals(Long userId) {
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
 
-        BigDecimal netSavings = totalIncome.subtract(totalExpense);
+        for (Object[] row : rollupService.getTotalsGroupedByType(userId)) {
+            if ("INCOME".equals(row[0])) {
+                income = (BigDecimal) row[1];
+            } else if ("EXPENSE".equals(row[0])) {
+                expense = (BigDecimal) row[1];
+            }
+        }
 
-        return new DashboardSummaryDTO(totalIncome, totalExpense, netSavings, transactions);
+        return new DashboardTotalsCache.Totals(income, expense);
     }
 }
@@ -0,0 +1,120 @@
+package com.example.demo.service;
+
+import com.example.demo.event.TransactionChangedEvent;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+// Per-user income/expense totals, invalidated after every committed transaction write or import
+@Component
+public class DashboardTotalsCache {
+
+    public static class Totals {
+        private final BigDecimal income;
+        private final BigDecimal expense;
+
+        public Totals(BigDecimal income, BigDecimal expense) {
+            this.income = income;
+            this.expense = expense;
+        }
+
+        public BigDecimal getIncome() {
+            return income;
+        }
+
+        public BigDecimal getExpense() {
+            return expense;
+        }
+    }
+
+    // Generations guard against a slow loader putting back totals that were read before a
+    // concurrent write. They live outside the entries, so invalidating removes the user's entry
+    // and eviction cannot reset them, and are shared by hash so their number stays fixed: a write
+    // also discards the in-flight loads of the users sharing its slot, which only costs a reload.
+    private static final int GENERATION_SLOTS = 4096;
+
+    private final ConcurrentHashMap<Long, Totals> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final int maxEntries;
+
+    public DashboardTotalsCache(@Value("${dashboard.cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Totals get(Long userId, Supplier<Totals> loader) {
+        Totals current = entries.get(userId);
+        if (current != null) {
+            hits.incrementAndGet();
+            return current;
+        }
+
+        misses.incrementAndGet();
+        int slot = slot(userId);
+        long generation = generations.get(slot);
+        Totals totals = loader.get();
+
+        if (entries.size() >= maxEntries) {
+            evictOne();
+        }
+        // Checked under the entry's lock: invalidate bumps the generation before removing the
+        // entry, so totals stored here just before a bump are removed again
+        entries.compute(userId, (id, latest) -> generations.get(slot) == generation ? totals : latest);
+        return totals;
+    }
+
+    // After commit rather than inside the writing transaction: a dashboard read between an earlier
+    // invalidation and the commit would still see the old totals and cache them under the new generation
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        generations.incrementAndGet(slot(userId));
+        entries.remove(userId);
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("invalidations", invalidations.get());
+        stats.put("size", entries.size());
+        stats.put("maxEntries", maxEntries);
+        return stats;
+    }
+
+    private static int slot(Long userId) {
+        return Long.hashCode(userId) & (GENERATION_SLOTS - 1);
+    }
+
+    private void evictOne() {
+        Iterator<Long> iterator = entries.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
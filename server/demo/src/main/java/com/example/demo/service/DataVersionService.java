@@ -0,0 +1,86 @@
+package com.example.demo.service;
+
+import com.example.demo.event.BudgetChangedEvent;
+import com.example.demo.event.GoalChangedEvent;
+import com.example.demo.event.TransactionChangedEvent;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Per-user, per-resource version counters behind the ETags of the polled GET endpoints. A counter
+// moves after every committed write to that user's data, so an unchanged version means an
+// unchanged response and a matching If-None-Match can be answered 304 without running the query.
+//
+// Counters live in memory: the boot epoch in every ETag makes tags from a previous run (or another
+// instance) never match. Each user that has written since startup costs one small array.
+@Service
+public class DataVersionService {
+
+    public enum Resource {
+        TRANSACTIONS,
+        BUDGETS,
+        GOALS
+    }
+
+    private static final int RESOURCES = Resource.values().length;
+
+    // Random per instance rather than the start time, so two instances started together still differ
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final Map<Long, AtomicLongArray> versionsByUser = new ConcurrentHashMap<>();
+
+    // Bumped by changes that span users (generated data)
+    private final AtomicLongArray globalVersions = new AtomicLongArray(RESOURCES);
+
+    // Strong ETag (quoted) for a response built from the given resources of one user. Read it
+    // before running the query: a write landing in between then only costs the client a re-fetch
+    // later, whereas a version read after the query could label old data as current.
+    public String etag(Long userId, Resource... resources) {
+        AtomicLongArray userVersions = versionsByUser.get(userId);
+        StringBuilder tag = new StringBuilder("\"").append(epoch);
+        for (Resource resource : resources) {
+            tag.append('-').append(globalVersions.get(resource.ordinal()))
+                    .append('.').append(userVersions != null ? userVersions.get(resource.ordinal()) : 0);
+        }
+        return tag.append('"').toString();
+    }
+
+    public void bump(Long userId, Resource resource) {
+        if (userId == null) {
+            globalVersions.incrementAndGet(resource.ordinal());
+            return;
+        }
+        versionsByUser.computeIfAbsent(userId, id -> new AtomicLongArray(RESOURCES))
+                .incrementAndGet(resource.ordinal());
+    }
+
+    // For writes that bypass the services (bulk loads through JdbcTemplate)
+    public void bumpAll() {
+        for (Resource resource : Resource.values()) {
+            globalVersions.incrementAndGet(resource.ordinal());
+        }
+    }
+
+    // The listeners run after commit (or right away for writes outside a transaction), so a reader
+    // that sees the new version also sees the committed rows
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        bump(event.getUserId(), Resource.TRANSACTIONS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        bump(event.getUserId(), Resource.BUDGETS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGoalChanged(GoalChangedEvent event) {
+        bump(event.getUserId(), Resource.GOALS);
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ExpenseForecastDTO;
+import com.example.demo.dto.MonthlyAmountDTO;
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.repository.TransactionRollupRepository;
+import com.example.demo.util.ExponentialSmoothing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Next-3-month expense forecasts, replacing ml_server's /predict-expense (which fetched the whole
+// history over HTTP and retrained a model per call). Each user's monthly expense series is read
+// from the rollups (one indexed query) and dropped after every committed expense change; the
+// forecast is computed on the first request after a change and served from memory until the next.
+// The series is re-read rather than patched from the event: a load that runs between a commit and
+// its after-commit event already sees the change, so adding the event's amount would count it twice.
+//
+// Models by history length: under 4 months the last month is repeated (as ml_server did), from two
+// years on additive Holt-Winters picks up yearly seasonality, and Holt's damped trend in between.
+@Service
+public class ExpenseForecastService {
+
+    static final String EXPENSE = "EXPENSE";
+    static final int HORIZON = 3;
+    static final int SEASON = 12;
+    private static final int MIN_MODELLED_MONTHS = 4;
+    // This many empty months in a row end the history the models see
+    private static final int DORMANT_MONTHS = 3;
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
+
+    // The generation keeps a load that started before a change from storing a series without it.
+    // As in DashboardTotalsCache, generations are a fixed set of slots shared by hash, so changes
+    // for users without a series create nothing and eviction cannot reset them.
+    private static final int GENERATION_SLOTS = 4096;
+
+    private final ConcurrentHashMap<Long, Series> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final int maxEntries;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public ExpenseForecastService(@Value("${forecast.cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public ExpenseForecastDTO getForecast(Long userId) {
+        Series current = entries.get(userId);
+        if (current != null) {
+            hits.incrementAndGet();
+            return current.forecast();
+        }
+
+        misses.incrementAndGet();
+        int slot = slot(userId);
+        long generation = generations.get(slot);
+        Series series = load(userId);
+
+        if (entries.size() >= maxEntries) {
+            evictOne();
+        }
+        entries.compute(userId, (id, latest) -> generations.get(slot) == generation ? series : latest);
+        return series.forecast();
+    }
+
+    // After commit, so the next load from the rollups sees the change
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+        switch (event.getKind()) {
+            case CREATED, DELETED -> {
+                // Undated expenses are not part of the series
+                if (EXPENSE.equals(event.getType()) && event.getDate() != null) {
+                    invalidate(event.getUserId());
+                }
+            }
+            case IMPORTED -> invalidate(event.getUserId());
+            default -> {
+                // Status does not affect the series
+            }
+        }
+    }
+
+    // Also for rollup rebuilds and bulk writes that bypass the events
+    public void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        generations.incrementAndGet(slot(userId));
+        entries.remove(userId);
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        FunctionCounter.builder("app.forecast.cache.gets", hits, AtomicLong::get)
+                .description("Forecast requests by whether the user's series was cached")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.forecast.cache.gets", misses, AtomicLong::get)
+                .description("Forecast requests by whether the user's series was cached")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.forecast.cache.invalidations", invalidations, AtomicLong::get)
+                .description("Series dropped after a committed expense change, import or rebuild")
+                .register(meterRegistry);
+        Gauge.builder("app.forecast.cache.size", entries, Map::size)
+                .description("Users with a cached expense series")
+                .register(meterRegistry);
+    }
+
+    private Series load(Long userId) {
+        NavigableMap<YearMonth, Month> months = new TreeMap<>();
+        for (Object[] row : rollupRepository.getMonthlyTotalsByType(userId, EXPENSE)) {
+            LocalDate period = (LocalDate) row[0];
+            long count = ((Number) row[2]).longValue();
+            // Undated expenses have no month to forecast from; rows deleted down to zero are gone
+            if (period.equals(RollupService.UNDATED_PERIOD) || count <= 0) {
+                continue;
+            }
+            months.put(YearMonth.from(period), new Month((BigDecimal) row[1], count));
+        }
+        return new Series(months);
+    }
+
+    private static int slot(Long userId) {
+        return Long.hashCode(userId) & (GENERATION_SLOTS - 1);
+    }
+
+    private void evictOne() {
+        Iterator<Long> iterator = entries.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static class Month {
+        private final BigDecimal total;
+        private final long count;
+
+        private Month(BigDecimal total, long count) {
+            this.total = total;
+            this.count = count;
+        }
+    }
+
+    // Immutable once loaded; the forecast is computed on first use and kept with the series
+    private static class Series {
+
+        private final NavigableMap<YearMonth, Month> months;
+        private volatile ExpenseForecastDTO forecast;
+
+        private Series(NavigableMap<YearMonth, Month> months) {
+            this.months = months;
+        }
+
+        ExpenseForecastDTO forecast() {
+            ExpenseForecastDTO result = forecast;
+            if (result == null) {
+                result = computeForecast();
+                forecast = result;
+            }
+            return result;
+        }
+
+        private ExpenseForecastDTO computeForecast() {
+            List<MonthlyAmountDTO> previous = new ArrayList<>();
+            double totalPrevious = 0;
+            for (Map.Entry<YearMonth, Month> month : months.entrySet()) {
+                double amount = month.getValue().total.doubleValue();
+                previous.add(new MonthlyAmountDTO(month.getKey().format(MONTH_FORMAT), amount));
+                totalPrevious += amount;
+            }
+            if (months.isEmpty()) {
+                return new ExpenseForecastDTO(new ArrayList<>(), 0.0, previous, "none");
+            }
+
+            YearMonth last = months.lastKey();
+            double[] series = modelledSeries();
+            double[] predicted;
+            String model;
+            if (series.length < MIN_MODELLED_MONTHS) {
+                double lastAmount = months.lastEntry().getValue().total.doubleValue();
+                predicted = new double[]{lastAmount, lastAmount, lastAmount};
+                model = "last-value";
+            } else if (series.length >= 2 * SEASON) {
+                predicted = ExponentialSmoothing.holtWinters(series, SEASON, HORIZON);
+                model = "holt-winters";
+            } else {
+                predicted = ExponentialSmoothing.holt(series, HORIZON);
+                model = "holt";
+            }
+
+            List<MonthlyAmountDTO> next = new ArrayList<>();
+            for (int i = 0; i < HORIZON; i++) {
+                // Spending cannot go negative, however steep the recent decline
+                double amount = Math.round(Math.max(0, predicted[i]) * 100) / 100.0;
+                next.add(new MonthlyAmountDTO(last.plusMonths(i + 1).format(MONTH_FORMAT), amount));
+            }
+            return new ExpenseForecastDTO(next, totalPrevious, previous, model);
+        }
+
+        // Monthly amounts from the end of the last dormant stretch to the newest month. Months
+        // without expenses inside the span are zeros, not missing points; history before a long
+        // silence (an old test entry, a dormant account) would otherwise seed a false trend.
+        private double[] modelledSeries() {
+            YearMonth start = months.firstKey();
+            YearMonth previous = null;
+            for (YearMonth month : months.keySet()) {
+                if (previous != null && previous.until(month, ChronoUnit.MONTHS) > DORMANT_MONTHS) {
+                    start = month;
+                }
+                previous = month;
+            }
+            YearMonth first = start;
+            double[] series = new double[(int) first.until(months.lastKey(), ChronoUnit.MONTHS) + 1];
+            months.tailMap(first, true).forEach((month, value) ->
+                    series[(int) first.until(month, ChronoUnit.MONTHS)] = value.total.doubleValue());
+            return series;
+        }
+    }
+}
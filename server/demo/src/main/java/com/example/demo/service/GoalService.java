@@ -1,12 +1,15 @@
 package com.example.demo.service;
 
+import com.example.demo.event.GoalChangedEvent;
 import com.example.demo.model.Goal;
 import com.example.demo.model.User;
 import com.example.demo.repository.GoalRepository;
 import com.example.demo.repository.UserRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -21,26 +24,45 @@ public class GoalService {
     @Autowired
     private UserRepository userRepository; 
 
+    // Every write publishes a GoalChangedEvent inside its transaction; the change log is written
+    // before commit, the other listeners (ETag versions, live updates) run after it
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Goal> getGoalsByUserId(Long userId) {
         return goalRepository.findByUserId(userId);
     }
 
+    @Transactional
     public Goal createGoal(Long userId, Goal goal) {
         User user = userRepository.findById(userId)
         .orElseThrow(() -> new RuntimeException("User not found"));
         goal.setUser(user);
-        return goalRepository.save(goal);
+        Goal saved = goalRepository.save(goal);
+        eventPublisher.publishEvent(GoalChangedEvent.updated(userId, saved.getId()));
+        return saved;
     }
 
+    // Atomic increment, so concurrent deposits never overwrite each other
+    @Transactional
     public Goal updateSavedAmount(Long goalId, BigDecimal amount) {
+        if (goalRepository.incrementSavedAmount(goalId, amount) == 0) {
+            throw new RuntimeException("Goal not found");
+        }
         Goal goal = goalRepository.findById(goalId)
                 .orElseThrow(() -> new RuntimeException("Goal not found"));
-        goal.setSavedAmount(goal.getSavedAmount().add(amount));
-        return goalRepository.save(goal);
+        eventPublisher.publishEvent(GoalChangedEvent.updated(goal.getUser().getId(), goalId));
+        return goal;
     }
 
+    @Transactional
     public void deleteGoal(Long goalId) {
+        // The owner is looked up first (usually a second-level cache hit) so the change can be published
+        Long userId = goalRepository.findById(goalId).map(goal -> goal.getUser().getId()).orElse(null);
         goalRepository.deleteById(goalId);
+        if (userId != null) {
+            eventPublisher.publishEvent(new GoalChangedEvent(GoalChangedEvent.Kind.DELETED, userId, goalId));
+        }
     }
 
     public Goal findGoalById(Long goalId) {
@@ -0,0 +1,276 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BudgetChangeDTO;
+import com.example.demo.dto.LiveChangesDTO;
+import com.example.demo.dto.TransactionChangeDTO;
+import com.example.demo.event.BudgetChangedEvent;
+import com.example.demo.event.TransactionChangedEvent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fans committed transaction and budget changes out to each user's open /api/stream connections
+// (Server-Sent Events). An idle connection is a suspended async request: it holds a socket and an
+// emitter but no thread, so the number of clients is bounded by server.tomcat.max-connections
+// rather than by the worker pool.
+//
+// Listeners only record changes per user. Every coalesce interval the pending changes of each user
+// go out as one "changes" event with the latest change per row, so a burst (an import, a batch of
+// postings) costs one write per connection rather than one per row. Users without a connection
+// cost nothing.
+@Service
+public class LiveUpdateHub {
+
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final Map<Long, PendingChanges> pendingByUser = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong sentEvents = new AtomicLong();
+    private final AtomicLong droppedConnections = new AtomicLong();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Connections are closed after this long; EventSource reconnects on its own
+    @Value("${live.timeout-ms:1800000}")
+    private long timeoutMs = 1800000;
+
+    @Value("${live.reconnect-ms:3000}")
+    private long reconnectMs = 3000;
+
+    // Above this many changed transactions in one interval the client is told to reload instead
+    @Value("${live.max-listed-changes:100}")
+    private int maxListedChanges = 100;
+
+    // A connection with this many writes still queued is not reading; it is closed rather than buffered for
+    @Value("${live.max-queued-writes:20}")
+    private int maxQueuedWrites = 20;
+
+    public LiveUpdateHub(@Value("${live.sender-threads:4}") int senderThreads) {
+        // Writes block only while a client's socket buffer is full, so a few threads serve every
+        // connection; per-connection chaining keeps each client's events in order
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, task -> {
+            Thread thread = new Thread(task, "live-send-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        subscribersByUser.compute(userId, (id, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : new CopyOnWriteArraySet<>();
+            set.add(subscriber);
+            return set;
+        });
+        connections.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        // Sent right away so the response is committed; changes made before this point are the
+        // client's to fetch, which it does once on every (re)connect
+        enqueue(subscriber, SseEmitter.event().name("ready").reconnectTime(reconnectMs).data(""));
+        return emitter;
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.decrementAndGet();
+        subscribersByUser.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    // After commit, so a client reacting to an event reads committed data
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        Long userId = event.getUserId();
+        if (userId == null || !subscribersByUser.containsKey(userId)) {
+            return;
+        }
+        // compute rather than get-then-add: flush() removes entries concurrently, and a change
+        // added to an entry it already took would be lost
+        pendingByUser.compute(userId, (id, pending) -> {
+            PendingChanges changes = pending != null ? pending : new PendingChanges();
+            changes.addTransaction(event, maxListedChanges);
+            return changes;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        Long userId = event.getUserId();
+        if (userId == null || !subscribersByUser.containsKey(userId)) {
+            return;
+        }
+        pendingByUser.compute(userId, (id, pending) -> {
+            PendingChanges changes = pending != null ? pending : new PendingChanges();
+            changes.addBudget(event);
+            return changes;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${live.coalesce-ms:500}")
+    public void flush() {
+        for (Long userId : pendingByUser.keySet()) {
+            PendingChanges pending = pendingByUser.remove(userId);
+            Set<Subscriber> subscribers = subscribersByUser.get(userId);
+            if (pending == null || subscribers == null) {
+                continue;
+            }
+            LiveChangesDTO changes = pending.toDTO();
+            for (Subscriber subscriber : subscribers) {
+                enqueue(subscriber, SseEmitter.event().name("changes").data(changes));
+            }
+        }
+    }
+
+    // A comment line every interval keeps proxies and load balancers from closing idle connections,
+    // and a failed write is how a silently vanished client is noticed
+    @Scheduled(fixedDelayString = "${live.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Set<Subscriber> subscribers : subscribersByUser.values()) {
+            for (Subscriber subscriber : subscribers) {
+                enqueue(subscriber, SseEmitter.event().comment("ping"));
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (subscriber.queued.incrementAndGet() > maxQueuedWrites) {
+            droppedConnections.incrementAndGet();
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        subscriber.chain(() -> {
+            try {
+                if (!subscriber.closed.get()) {
+                    subscriber.emitter.send(event);
+                    sentEvents.incrementAndGet();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client gone or emitter already completed; the container reports the rest
+                remove(subscriber);
+            } finally {
+                subscriber.queued.decrementAndGet();
+            }
+        }, sender);
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("app.live.connections", connections, AtomicInteger::get)
+                .description("Open /api/stream connections")
+                .register(meterRegistry);
+        Gauge.builder("app.live.connected_users", subscribersByUser, Map::size)
+                .description("Users with at least one open stream")
+                .register(meterRegistry);
+        Gauge.builder("app.live.pending_users", pendingByUser, Map::size)
+                .description("Users with changes waiting for the next flush")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.live.events.sent", sentEvents, AtomicLong::get)
+                .description("Events written to stream connections")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.live.connections.dropped", droppedConnections, AtomicLong::get)
+                .description("Connections closed because they stopped reading")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private static class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // Runs the write after this connection's previous one; the lock is only held to link the chain
+        synchronized void chain(Runnable write, ExecutorService executor) {
+            tail = tail.thenRunAsync(write, executor);
+        }
+    }
+
+    // Changes of one user since the last flush. Only touched inside pendingByUser.compute, or after
+    // flush() has removed it, so it needs no locking of its own.
+    private static class PendingChanges {
+
+        private final Map<Long, TransactionChangeDTO> transactions = new LinkedHashMap<>();
+        private final Map<Long, BudgetChangeDTO> budgets = new LinkedHashMap<>();
+        private boolean reloadTransactions;
+
+        void addTransaction(TransactionChangedEvent event, int maxListed) {
+            if (reloadTransactions) {
+                return;
+            }
+            if (event.getKind() == TransactionChangedEvent.Kind.IMPORTED || transactions.size() >= maxListed) {
+                reloadTransactions = true;
+                transactions.clear();
+                return;
+            }
+            // Every change carries the row's current fields, so the latest one per row is enough
+            transactions.remove(event.getTransactionId());
+            transactions.put(event.getTransactionId(), TransactionChangeDTO.from(event));
+        }
+
+        void addBudget(BudgetChangedEvent event) {
+            // A null id (several budgets) is keyed like any other; LinkedHashMap allows one null key
+            budgets.remove(event.getBudgetId());
+            budgets.put(event.getBudgetId(), new BudgetChangeDTO(event.getKind().name(), event.getBudgetId()));
+        }
+
+        LiveChangesDTO toDTO() {
+            LiveChangesDTO dto = new LiveChangesDTO();
+            dto.setTransactions(new ArrayList<>(transactions.values()));
+            dto.setReloadTransactions(reloadTransactions);
+            dto.setBudgets(new ArrayList<>(budgets.values()));
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.TransactionRollupRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Backfills and audits the rollup table; each user is rebuilt in its own transaction
+@Component
+public class RollupMaintenanceJob {
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private ExpenseForecastService expenseForecastService;
+
+    // First boot after rollups were introduced: populate them from existing history
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() == 0 && transactionRepository.count() > 0) {
+            System.out.println("[ROLLUP] Rollup table is empty, rebuilding from transactions");
+            rebuildAll();
+        }
+    }
+
+    public int rebuildAll() {
+        List<Long> userIds = transactionRepository.findDistinctUserIds();
+        for (Long userId : userIds) {
+            rollupService.rebuildUser(userId);
+            expenseForecastService.invalidate(userId);
+        }
+        System.out.println("[ROLLUP] Rebuilt rollups for " + userIds.size() + " users");
+        return userIds.size();
+    }
+
+    // Disabled unless rollup.verify.cron is set; repairs any user whose rollups drifted
+    @Scheduled(cron = "${rollup.verify.cron:-}")
+    public List<String> verifyAll() {
+        List<String> mismatches = new ArrayList<>();
+        for (Long userId : transactionRepository.findDistinctUserIds()) {
+            List<String> userMismatches = rollupService.verifyUser(userId);
+            if (!userMismatches.isEmpty()) {
+                userMismatches.forEach(m -> System.out.println("[ROLLUP] Mismatch " + m));
+                rollupService.rebuildUser(userId);
+                expenseForecastService.invalidate(userId);
+                mismatches.addAll(userMismatches);
+            }
+        }
+        return mismatches;
+    }
+}
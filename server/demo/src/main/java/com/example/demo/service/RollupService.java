@@ -0,0 +1,177 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Transaction;
+import com.example.demo.model.TransactionRollup;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.TransactionRollupRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Maintains per-user (type, category, month) totals and answers sum queries from them
+@Service
+public class RollupService {
+
+    // Bucket for transactions without a date; they count toward all-time totals only
+    static final LocalDate UNDATED_PERIOD = LocalDate.of(1970, 1, 1);
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    // Applies a saved (+1) or deleted (-1) transaction; runs in the caller's transaction
+    @Transactional
+    public void record(Transaction transaction, int sign) {
+        if (transaction.getAmount() == null || transaction.getUser() == null) {
+            return;
+        }
+
+        recordDelta(
+                transaction.getUser().getId(),
+                transaction.getType(),
+                transaction.getCategory(),
+                periodOf(transaction.getDate()),
+                sign < 0 ? transaction.getAmount().negate() : transaction.getAmount(),
+                sign < 0 ? -1 : 1);
+    }
+
+    // Adds a pre-aggregated amount and row count to one bucket, e.g. once per bucket for a bulk import
+    @Transactional
+    public void recordDelta(Long userId, String type, String category, LocalDate periodStart,
+                            BigDecimal amount, long count) {
+        rollupRepository.upsertDelta(userId, normalize(type), normalize(category), periodStart, amount, count);
+    }
+
+    public BigDecimal sumAllTime(Long userId, String type, String category) {
+        return rollupRepository.sumAllTime(userId, type, category);
+    }
+
+    // Equivalent to SUM over t.date BETWEEN startDate AND endDate: whole months come from the
+    // rollups, and only the partial months at either edge are summed from raw rows
+    public BigDecimal sumRange(Long userId, String type, String category,
+                               LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate.isAfter(endDate)) {
+            return BigDecimal.ZERO;
+        }
+
+        YearMonth startMonth = YearMonth.from(startDate);
+        YearMonth endMonth = YearMonth.from(endDate);
+        YearMonth firstFull = startDate.equals(startMonth.atDay(1).atStartOfDay()) ? startMonth : startMonth.plusMonths(1);
+        YearMonth lastFull = endDate.equals(endMonth.atEndOfMonth().atTime(LocalTime.MAX)) ? endMonth : endMonth.minusMonths(1);
+
+        if (firstFull.isAfter(lastFull)) {
+            // The range sits inside at most two adjacent partial months
+            return transactionRepository.getTotalByTypeCategoryAndDateRange(userId, type, category, startDate, endDate);
+        }
+
+        BigDecimal total = rollupRepository.sumPeriods(userId, type, category, firstFull.atDay(1), lastFull.atDay(1));
+
+        LocalDateTime fullStart = firstFull.atDay(1).atStartOfDay();
+        if (startDate.isBefore(fullStart)) {
+            total = total.add(transactionRepository.getTotalByTypeCategoryInHalfOpenRange(
+                    userId, type, category, startDate, fullStart));
+        }
+
+        LocalDateTime fullEnd = lastFull.plusMonths(1).atDay(1).atStartOfDay();
+        if (!endDate.isBefore(fullEnd)) {
+            total = total.add(transactionRepository.getTotalByTypeCategoryAndDateRange(
+                    userId, type, category, fullEnd, endDate));
+        }
+
+        return total;
+    }
+
+    // Each row is [type, sum]
+    public List<Object[]> getTotalsGroupedByType(Long userId) {
+        return rollupRepository.getTotalsGroupedByType(userId);
+    }
+
+    // Recomputes a user's rollups from the transactions table
+    @Transactional
+    public int rebuildUser(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        List<TransactionRollup> rollups = new ArrayList<>(computeFromTransactions(userId).values());
+        rollupRepository.saveAll(rollups);
+        return rollups.size();
+    }
+
+    // Lists buckets whose stored total or count differs from the transactions table
+    @Transactional(readOnly = true)
+    public List<String> verifyUser(Long userId) {
+        Map<List<Object>, TransactionRollup> expected = computeFromTransactions(userId);
+        Map<List<Object>, TransactionRollup> actual = new HashMap<>();
+        for (TransactionRollup rollup : rollupRepository.findByUserId(userId)) {
+            actual.put(key(rollup.getType(), rollup.getCategory(), rollup.getPeriodStart()), rollup);
+        }
+
+        List<String> mismatches = new ArrayList<>();
+        Set<List<Object>> keys = new HashSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+        for (List<Object> key : keys) {
+            TransactionRollup want = expected.get(key);
+            TransactionRollup have = actual.get(key);
+            BigDecimal wantTotal = want != null ? want.getTotal() : BigDecimal.ZERO;
+            BigDecimal haveTotal = have != null ? have.getTotal() : BigDecimal.ZERO;
+            long wantCount = want != null ? want.getTransactionCount() : 0;
+            long haveCount = have != null ? have.getTransactionCount() : 0;
+
+            if (wantTotal.compareTo(haveTotal) != 0 || wantCount != haveCount) {
+                mismatches.add("user=" + userId + " bucket=" + key +
+                        " expected=" + wantTotal + "/" + wantCount +
+                        " actual=" + haveTotal + "/" + haveCount);
+            }
+        }
+        return mismatches;
+    }
+
+    private Map<List<Object>, TransactionRollup> computeFromTransactions(Long userId) {
+        Map<List<Object>, TransactionRollup> buckets = new HashMap<>();
+        for (Object[] row : transactionRepository.aggregateMonthlyByUserId(userId)) {
+            String type = normalize((String) row[0]);
+            String category = normalize((String) row[1]);
+            LocalDate period = row[2] != null
+                    ? LocalDate.of(((Number) row[2]).intValue(), ((Number) row[3]).intValue(), 1)
+                    : UNDATED_PERIOD;
+            BigDecimal total = (BigDecimal) row[4];
+            long count = ((Number) row[5]).longValue();
+
+            // null and "" collapse into the same bucket, so merge rather than overwrite
+            buckets.merge(key(type, category, period),
+                    new TransactionRollup(userId, type, category, period, total, count),
+                    (a, b) -> {
+                        a.setTotal(a.getTotal().add(b.getTotal()));
+                        a.setTransactionCount(a.getTransactionCount() + b.getTransactionCount());
+                        return a;
+                    });
+        }
+        return buckets;
+    }
+
+    static List<Object> key(String type, String category, LocalDate period) {
+        return List.of(type, category, period);
+    }
+
+    static String normalize(String value) {
+        return Objects.requireNonNullElse(value, "");
+    }
+
+    static LocalDate periodOf(LocalDateTime date) {
+        return date != null ? date.toLocalDate().withDayOfMonth(1) : UNDATED_PERIOD;
+    }
+}
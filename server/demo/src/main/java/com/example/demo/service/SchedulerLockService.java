@@ -0,0 +1,60 @@
+package com.example.demo.service;
+
+import com.example.demo.model.SchedulerLock;
+import com.example.demo.repository.SchedulerLockRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Database-backed lease shared by all instances; the lease lapses on its own if the holder dies
+@Service
+public class SchedulerLockService {
+
+    private final String owner = hostName() + "-" + UUID.randomUUID();
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryAcquire(String name, Duration leaseTime) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(leaseTime);
+
+        if (schedulerLockRepository.tryExtend(name, owner, now, until) == 1) {
+            return true;
+        }
+        if (schedulerLockRepository.existsById(name)) {
+            return false;
+        }
+
+        // First run of this job anywhere: create the row; a concurrent creator wins the race
+        try {
+            schedulerLockRepository.saveAndFlush(new SchedulerLock(name, until, now, owner));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(String name) {
+        schedulerLockRepository.release(name, owner, LocalDateTime.now());
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+}
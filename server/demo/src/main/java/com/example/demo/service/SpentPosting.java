@@ -0,0 +1,36 @@
+package com.example.demo.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Net expense amount for one (user, category, day), aggregated from queued transaction events or an import batch
+public class SpentPosting {
+
+    private final Long userId;
+    private final String category;
+    private final LocalDate day;
+    private final BigDecimal amount;
+
+    public SpentPosting(Long userId, String category, LocalDate day, BigDecimal amount) {
+        this.userId = userId;
+        this.category = category;
+        this.day = day;
+        this.amount = amount;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
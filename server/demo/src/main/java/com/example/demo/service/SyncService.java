@@ -0,0 +1,177 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BudgetDTO;
+import com.example.demo.dto.GoalProgressDTO;
+import com.example.demo.dto.SyncResponseDTO;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.GoalRepository;
+import com.example.demo.repository.TransactionRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Delta sync over the change log: a client sends the token from its previous response and gets
+// back only the rows changed since, so the work is proportional to the changes, not the history.
+//
+// Tokens are change_log ids. Ids are assigned at insert but become visible at commit, so a lower
+// id can appear after a higher one was read. Entries younger than the safety lag are therefore
+// held back and the token never moves past them; a transaction that stays open longer than the
+// lag could still be missed, and write transactions here take milliseconds.
+@Service
+public class SyncService {
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Value("${sync.safety-lag-ms:5000}")
+    private long safetyLagMs = 5000;
+
+    @Value("${sync.max-changes:1000}")
+    private int maxChanges = 1000;
+
+    // since is the previous syncToken; null or 0 asks for the full state
+    public SyncResponseDTO getChanges(Long userId, Long since) {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(safetyLagMs * 1_000_000);
+        if (since == null || since <= 0 || !isCovered(since)) {
+            return fullSync(userId, cutoff);
+        }
+
+        List<ChangeLogService.Change> changes = changeLogService.findAfter(userId, since, maxChanges + 1);
+        boolean hasMore = changes.size() > maxChanges;
+        boolean heldBack = false;
+        long token = since;
+        Map<String, Delta> deltas = new HashMap<>();
+        for (ChangeLogService.Change change : changes.subList(0, Math.min(changes.size(), maxChanges))) {
+            if (!change.getChangedAt().isBefore(cutoff)) {
+                heldBack = true;
+                break;
+            }
+            deltas.computeIfAbsent(change.getEntityType(), type -> new Delta()).add(change);
+            token = change.getId();
+        }
+        if (!hasMore && !heldBack) {
+            // Everything of this user's up to the cutoff is delivered; moving the token up to the
+            // global position keeps idle users' tokens from falling behind the retention purge
+            token = Math.max(token, changeLogService.latestIdBefore(cutoff));
+        }
+
+        SyncResponseDTO response = new SyncResponseDTO();
+        response.setSyncToken(token);
+        response.setHasMore(hasMore && !heldBack);
+        applyTransactions(userId, deltas.get(ChangeLogService.TRANSACTION), response);
+        applyBudgets(userId, deltas.get(ChangeLogService.BUDGET), response);
+        applyGoals(userId, deltas.get(ChangeLogService.GOAL), response);
+        return response;
+    }
+
+    // A token is usable while every entry after it is still in the log: not older than the oldest
+    // retained entry (purged), and not beyond the newest one (a token from another database)
+    private boolean isCovered(long since) {
+        long[] range = changeLogService.retainedRange();
+        return range != null && since >= range[0] - 1 && since <= range[1];
+    }
+
+    private SyncResponseDTO fullSync(Long userId, LocalDateTime cutoff) {
+        // The token is taken before the reads: changes landing in between are sent again next time,
+        // which the client applies as idempotent upserts
+        SyncResponseDTO response = new SyncResponseDTO();
+        response.setSyncToken(changeLogService.latestIdBefore(cutoff));
+        response.setFull(true);
+        response.setTransactions(transactionRepository.findDTOsByUserId(userId));
+        response.setBudgets(budgetRepository.findByUserId(userId).stream().map(BudgetDTO::from).toList());
+        response.setGoals(goalRepository.findProgressByUserId(userId));
+        return response;
+    }
+
+    private void applyTransactions(Long userId, Delta delta, SyncResponseDTO response) {
+        if (delta == null) {
+            return;
+        }
+        Set<Long> upserted = delta.upserted();
+        if (delta.allRows) {
+            response.setTransactions(transactionRepository.findDTOsByUserId(userId));
+        } else if (!upserted.isEmpty()) {
+            // Rows deleted since their entry was written are simply absent; their tombstone follows
+            response.setTransactions(transactionRepository.findDTOsByUserIdAndIdIn(userId, upserted));
+        }
+        response.setDeletedTransactionIds(delta.deleted());
+    }
+
+    // A user has a handful of budgets and goals, so they are read through the cached per-user
+    // queries and filtered here
+    private void applyBudgets(Long userId, Delta delta, SyncResponseDTO response) {
+        if (delta == null) {
+            return;
+        }
+        Set<Long> upserted = delta.upserted();
+        response.setBudgets(budgetRepository.findByUserId(userId).stream()
+                .filter(budget -> delta.allRows || upserted.contains(budget.getId()))
+                .map(BudgetDTO::from)
+                .toList());
+        response.setDeletedBudgetIds(delta.deleted());
+    }
+
+    private void applyGoals(Long userId, Delta delta, SyncResponseDTO response) {
+        if (delta == null) {
+            return;
+        }
+        Set<Long> upserted = delta.upserted();
+        List<GoalProgressDTO> goals = goalRepository.findProgressByUserId(userId).stream()
+                .filter(goal -> delta.allRows || upserted.contains(goal.getId()))
+                .toList();
+        response.setGoals(goals);
+        response.setDeletedGoalIds(delta.deleted());
+    }
+
+    // The net effect of one entity type's entries: the last operation per row wins
+    private static class Delta {
+
+        private final Map<Long, String> lastOperation = new LinkedHashMap<>();
+        private boolean allRows;
+
+        void add(ChangeLogService.Change change) {
+            if (change.getEntityId() == null) {
+                allRows = true;
+            } else {
+                lastOperation.put(change.getEntityId(), change.getOperation());
+            }
+        }
+
+        Set<Long> upserted() {
+            return new HashSet<>(idsWith(ChangeLogService.UPSERT));
+        }
+
+        List<Long> deleted() {
+            return idsWith(ChangeLogService.DELETE);
+        }
+
+        private List<Long> idsWith(String operation) {
+            List<Long> ids = new ArrayList<>();
+            lastOperation.forEach((id, op) -> {
+                if (op.equals(operation)) {
+                    ids.add(id);
+                }
+            });
+            return ids;
+        }
+    }
+}
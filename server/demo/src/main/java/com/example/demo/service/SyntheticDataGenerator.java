@@ -0,0 +1,224 @@
+package com.example.demo.service;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Fills the database with load-test users (loaduser1..N, password "password") and a realistic
+// spread of transactions, budgets and goals. Enabled only when datagen.users is set, and
+// skipped when the users already exist, so it is safe to leave on for a file-backed H2 database.
+@Service
+@ConditionalOnProperty(name = "datagen.users")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    static final String USERNAME_PREFIX = "loaduser";
+    static final String PASSWORD = "password";
+
+    private static final int BATCH_SIZE = 5000;
+
+    // Expense categories: name, relative frequency, median amount, spread of log(amount)
+    private static final Object[][] EXPENSE_CATEGORIES = {
+            {"Groceries", 30, 45.0, 0.6},
+            {"Dining", 20, 25.0, 0.7},
+            {"Transport", 15, 15.0, 0.8},
+            {"Entertainment", 10, 30.0, 0.9},
+            {"Shopping", 10, 60.0, 1.0},
+            {"Utilities", 8, 90.0, 0.4},
+            {"Health", 4, 70.0, 0.9},
+            {"Travel", 3, 400.0, 0.8},
+    };
+    private static final String[] PAYMENT_METHODS = {"credit card", "debit card", "cash", "bank transfer"};
+    private static final String[] GOAL_NAMES = {"Emergency Fund", "Vacation Fund", "New Car", "House Deposit", "Education"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RollupMaintenanceJob rollupMaintenanceJob;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private BudgetPostingService budgetPostingService;
+
+    @Value("${datagen.users}")
+    private int users;
+
+    @Value("${datagen.transactions-per-user:200}")
+    private int transactionsPerUser;
+
+    @Value("${datagen.months:24}")
+    private int months;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE username LIKE ?", Integer.class, USERNAME_PREFIX + "%");
+        if (existing != null && existing > 0) {
+            System.out.println("[DATAGEN] " + existing + " load-test users already present, skipping generation");
+            return;
+        }
+        generate(users, transactionsPerUser, months, seed);
+    }
+
+    public void generate(int userCount, int meanTransactions, int monthCount, long randomSeed) {
+        long startedAt = System.currentTimeMillis();
+        Random random = new Random(randomSeed);
+
+        insertUsers(userCount);
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, username FROM users WHERE username LIKE ?",
+                rs -> {
+                    ids.put(rs.getString("username"), rs.getLong("id"));
+                },
+                USERNAME_PREFIX + "%");
+
+        LocalDate today = LocalDate.now();
+        YearMonth firstMonth = YearMonth.from(today).minusMonths(monthCount - 1L);
+        List<Object[]> transactions = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> budgets = new ArrayList<>();
+        List<Object[]> goals = new ArrayList<>();
+        long transactionCount = 0;
+
+        for (int n = 1; n <= userCount; n++) {
+            Long userId = ids.get(USERNAME_PREFIX + n);
+
+            // Heavy-tailed activity: most users near the mean, a few far above it
+            int count = (int) Math.max(10, Math.round(meanTransactions * Math.exp(random.nextGaussian() * 0.5 - 0.125)));
+            BigDecimal salary = money(2500 + random.nextInt(6500));
+            BigDecimal rent = money(800 + random.nextInt(1700));
+
+            for (YearMonth month = firstMonth; !month.isAfter(YearMonth.from(today)); month = month.plusMonths(1)) {
+                transactions.add(row(userId, salary, "Salary", "Monthly salary", "INCOME", month.atDay(1).atTime(9, 0), "completed", "bank transfer"));
+                transactions.add(row(userId, rent, "Rent", "Monthly rent", "EXPENSE", month.atDay(1).atTime(10, 0), "completed", "bank transfer"));
+                transactionCount += 2;
+            }
+
+            for (int i = 0; i < count; i++) {
+                Object[] category = pickCategory(random);
+                double amount = (double) category[2] * Math.exp(random.nextGaussian() * (double) category[3]);
+                LocalDateTime date = randomDate(random, firstMonth.atDay(1), today);
+                transactions.add(row(userId, money(amount), (String) category[0], category[0] + " purchase", "EXPENSE", date,
+                        random.nextInt(20) == 0 ? "pending" : "completed",
+                        PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)]));
+                transactionCount++;
+
+                if (transactions.size() >= BATCH_SIZE) {
+                    insertTransactions(transactions);
+                    transactions.clear();
+                }
+            }
+
+            // Budgets on a few of the busiest categories, sized a little above typical spend
+            int budgetCount = 3 + random.nextInt(3);
+            for (int b = 0; b < budgetCount; b++) {
+                Object[] category = EXPENSE_CATEGORIES[b];
+                boolean yearly = random.nextInt(100) < 15;
+                double monthlySpend = (double) category[2] * count * (int) category[1] / 100.0 / monthCount;
+                budgets.add(new Object[]{userId, category[0], money(monthlySpend * (yearly ? 12 : 1) * 1.2),
+                        category[0] + " budget", yearly ? "yearly" : "monthly",
+                        Date.valueOf(yearly ? today.withDayOfYear(1) : today.withDayOfMonth(1))});
+            }
+
+            int goalCount = 1 + random.nextInt(3);
+            for (int g = 0; g < goalCount; g++) {
+                BigDecimal target = money(1000 + random.nextInt(19000));
+                goals.add(new Object[]{userId, GOAL_NAMES[(n + g) % GOAL_NAMES.length], target,
+                        target.multiply(BigDecimal.valueOf(random.nextDouble())).setScale(2, RoundingMode.HALF_UP)});
+            }
+
+            if (n % 1000 == 0) {
+                System.out.println("[DATAGEN] " + n + "/" + userCount + " users, " + transactionCount + " transactions");
+            }
+        }
+        if (!transactions.isEmpty()) {
+            insertTransactions(transactions);
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO budget (user_id, category, amount, description, budget_type, " +
+                "last_reset_date, spent_amount, version) VALUES (?, ?, ?, ?, ?, ?, 0, 0)", budgets);
+        jdbcTemplate.batchUpdate("INSERT INTO goal (user_id, name, target_amount, saved_amount, version) " +
+                "VALUES (?, ?, ?, ?, 0)", goals);
+
+        // The rows bypassed Hibernate, so cached lookups (e.g. a failed login for loaduser1) are stale
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        // Likewise for ETags handed out while the data was being generated
+        dataVersionService.bumpAll();
+
+        // Derived tables are rebuilt through the normal maintenance paths
+        rollupMaintenanceJob.rebuildAll();
+        budgetPostingService.reconcileAll();
+
+        System.out.println("[DATAGEN] Generated " + userCount + " users, " + transactionCount + " transactions, " +
+                budgets.size() + " budgets, " + goals.size() + " goals in " +
+                (System.currentTimeMillis() - startedAt) + " ms");
+    }
+
+    private void insertUsers(int userCount) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int n = 1; n <= userCount; n++) {
+            rows.add(new Object[]{USERNAME_PREFIX + n, USERNAME_PREFIX + n + "@example.com", PASSWORD, "USER"});
+            if (rows.size() >= BATCH_SIZE || n == userCount) {
+                jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, role) VALUES (?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private void insertTransactions(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO transaction (user_id, amount, category, description, type, date, " +
+                "status, payment_method) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private static Object[] row(Long userId, BigDecimal amount, String category, String description, String type,
+                                LocalDateTime date, String status, String paymentMethod) {
+        return new Object[]{userId, amount, category, description, type, Timestamp.valueOf(date), status, paymentMethod};
+    }
+
+    private static Object[] pickCategory(Random random) {
+        int roll = random.nextInt(100);
+        for (Object[] category : EXPENSE_CATEGORIES) {
+            roll -= (int) category[1];
+            if (roll < 0) {
+                return category;
+            }
+        }
+        return EXPENSE_CATEGORIES[0];
+    }
+
+    private static LocalDateTime randomDate(Random random, LocalDate from, LocalDate to) {
+        long days = to.toEpochDay() - from.toEpochDay() + 1;
+        return from.plusDays((long) (random.nextDouble() * days)).atTime(7 + random.nextInt(15), random.nextInt(60));
+    }
+
+    private static BigDecimal money(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ImportResultDTO;
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.importer.ImportRow;
+import com.example.demo.importer.ImportRowHandler;
+import com.example.demo.importer.ImportRowParser;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Streams a bank statement upload into the transaction table in JDBC batches. Rows go through
+// JdbcTemplate rather than Hibernate: Transaction ids are IDENTITY, which rules out Hibernate
+// insert batching, while a JDBC batch with rewriteBatchedStatements becomes multi-row INSERTs.
+@Service
+public class TransactionImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO transaction " +
+            "(user_id, amount, category, description, type, date, status, payment_method) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private AnomalyDetectionService anomalyDetectionService;
+
+    @Autowired
+    private BudgetPostingService budgetPostingService;
+
+    @Value("${import.batch-size:1000}")
+    private int batchSize;
+
+    public ImportResultDTO importTransactions(Long userId, InputStream body, String format) throws IOException {
+        ImportRowParser parser = ImportRowParser.forFormat(format);
+        ImportResultDTO result = new ImportResultDTO();
+        long startedAt = System.currentTimeMillis();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+
+        ImportRowHandler handler = new ImportRowHandler() {
+            @Override
+            public void onRow(ImportRow row) {
+                String problem = validate(row);
+                if (problem != null) {
+                    onError(row.getLine(), problem);
+                    return;
+                }
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    flush(userId, batch);
+                    result.setImported(result.getImported() + batch.size());
+                    batch.clear();
+                }
+            }
+
+            @Override
+            public void onError(long line, String message) {
+                result.setRejected(result.getRejected() + 1);
+                if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                    result.getErrors().add(new ImportResultDTO.RowError(line, message));
+                }
+            }
+        };
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024)) {
+            parser.parse(reader, handler);
+            if (!batch.isEmpty()) {
+                flush(userId, batch);
+                result.setImported(result.getImported() + batch.size());
+            }
+        } finally {
+            // Earlier batches are already committed even if the stream failed part way
+            if (result.getImported() > 0) {
+                eventPublisher.publishEvent(TransactionChangedEvent.imported(userId));
+            }
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - startedAt);
+        System.out.println("[IMPORT] user=" + userId + " format=" + format + " imported=" + result.getImported() +
+                " rejected=" + result.getRejected() + " in " + result.getElapsedMillis() + "ms");
+        return result;
+    }
+
+    // Normalizes the row in place; returns an error message or null when the row is valid
+    static String validate(ImportRow row) {
+        if (row.getDate() == null) {
+            return "Date is required";
+        }
+        if (row.getAmount() == null || row.getAmount().signum() == 0) {
+            return "Amount must be non-zero";
+        }
+
+        if (row.getType() == null) {
+            // Statement convention: money out is negative
+            row.setType(row.getAmount().signum() < 0 ? "EXPENSE" : "INCOME");
+        } else if (row.getType().equalsIgnoreCase("INCOME") || row.getType().equalsIgnoreCase("EXPENSE")) {
+            row.setType(row.getType().toUpperCase());
+        } else {
+            return "Invalid transaction type: " + row.getType();
+        }
+        row.setAmount(row.getAmount().abs());
+
+        row.setCategory(truncate(row.getCategory()));
+        row.setDescription(truncate(row.getDescription()));
+        row.setStatus(row.getStatus() != null ? truncate(row.getStatus()) : "completed");
+        row.setPaymentMethod(row.getPaymentMethod() != null ? truncate(row.getPaymentMethod()) : "import");
+        return null;
+    }
+
+    // One database transaction per batch: the rows and their rollup deltas commit together. The
+    // batch's budget postings follow once it has committed.
+    private void flush(Long userId, List<ImportRow> batch) {
+        Map<List<Object>, BigDecimal> totals = new HashMap<>();
+        Map<List<Object>, Long> counts = new HashMap<>();
+        Map<List<Object>, BigDecimal> spent = new LinkedHashMap<>();
+        for (ImportRow row : batch) {
+            List<Object> key = RollupService.key(row.getType(), RollupService.normalize(row.getCategory()),
+                    RollupService.periodOf(row.getDate()));
+            totals.merge(key, row.getAmount(), BigDecimal::add);
+            counts.merge(key, 1L, Long::sum);
+            // Budgets match on category, as for BudgetPostingService.isPostable
+            if ("EXPENSE".equals(row.getType()) && row.getCategory() != null) {
+                spent.merge(List.of(row.getCategory(), row.getDate().toLocalDate()), row.getAmount(), BigDecimal::add);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // The generated ids feed the change log and anomaly detection, in the same transaction as the rows
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ImportRow row = batch.get(i);
+                            ps.setLong(1, userId);
+                            ps.setBigDecimal(2, row.getAmount());
+                            ps.setString(3, row.getCategory());
+                            ps.setString(4, row.getDescription());
+                            ps.setString(5, row.getType());
+                            ps.setTimestamp(6, Timestamp.valueOf(row.getDate()));
+                            ps.setString(7, row.getStatus());
+                            ps.setString(8, row.getPaymentMethod());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keys);
+            List<Long> ids = keys.getKeyList().stream()
+                    .map(key -> ((Number) key.values().iterator().next()).longValue())
+                    .toList();
+            changeLogService.recordTransactions(userId, ids);
+            anomalyDetectionService.observeImported(userId, batch, ids);
+            totals.forEach((key, total) -> rollupService.recordDelta(userId, (String) key.get(0),
+                    (String) key.get(1), (LocalDate) key.get(2), total, counts.get(key)));
+        });
+
+        List<SpentPosting> postings = new ArrayList<>(spent.size());
+        spent.forEach((key, amount) ->
+                postings.add(new SpentPosting(userId, (String) key.get(0), (LocalDate) key.get(1), amount)));
+        budgetPostingService.postImported(postings);
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH ? value.substring(0, MAX_TEXT_LENGTH) : value;
+    }
+}
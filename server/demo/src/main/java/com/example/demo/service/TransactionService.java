@@ -1,29 +1,57 @@
 package com.example.demo.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.dto.TransactionPageDTO;
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.export.ColumnarTransactionWriter;
 import com.example.demo.model.Transaction;
 import com.example.demo.model.User;
 import com.example.demo.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class TransactionService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_BATCH_SIZE = 8192;
+
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Listeners that react after commit (budget posting, dashboard totals) use @TransactionalEventListener
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public BigDecimal getTotalAmountByType(Long userId, String type) {
         if (!type.equalsIgnoreCase("INCOME") && !type.equalsIgnoreCase("EXPENSE")) {
             throw new IllegalArgumentException("Invalid transaction type: " + type);
         }
 
-        return transactionRepository.getTotalAmountByType(userId, type.toUpperCase());
+        return rollupService.sumAllTime(userId, type.toUpperCase(), null);
     }
 
     public BigDecimal getTotalAmountByTypeAndDateRange(Long userId, String type, LocalDateTime startDate,
@@ -32,26 +60,112 @@ public class TransactionService {
             throw new IllegalArgumentException("Invalid transaction type: " + type);
         }
 
-        return transactionRepository.getTotalAmountByTypeAndDateRange(userId, type.toUpperCase(), startDate, endDate);
+        return rollupService.sumRange(userId, type.toUpperCase(), null, startDate, endDate);
     }
 
-    public List<Transaction> getRecentTransactions(Long userId, int limit) {
-        return transactionRepository
-                .findRecentTransactionsByUserId(userId, PageRequest.of(0, limit))
-                .getContent();
+    public List<TransactionDTO> getRecentTransactions(Long userId, int limit) {
+        return transactionRepository.findRecentDTOsByUserId(userId, PageRequest.of(0, limit));
     }
 
+    @Transactional
     public Transaction addTransaction(Transaction transaction, User user) {
         // Set user for the transaction
         transaction.setUser(user);
         // Save the transaction to the database
-        return transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.save(transaction);
+        rollupService.record(saved, 1);
+        eventPublisher.publishEvent(TransactionChangedEvent.of(TransactionChangedEvent.Kind.CREATED, saved));
+        return saved;
     }
 
-    public List<Transaction> getTransactionsByUserId(Long userId) {
-        return transactionRepository.findByUserId(userId);
+    public List<TransactionDTO> getTransactionsByUserId(Long userId) {
+        return transactionRepository.findDTOsByUserId(userId);
+    }
+
+    // Keyset page ordered by (date DESC, id DESC); cursor is the value returned as nextCursor
+    public TransactionPageDTO getTransactionPage(Long userId, String cursor, int size, String type, String category,
+            LocalDateTime startDate, LocalDateTime endDate) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        LocalDateTime cursorDate = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            cursorDate = LocalDateTime.parse(parts[0]);
+            cursorId = Long.parseLong(parts[1]);
+        }
+
+        String normalizedType = type != null ? type.toUpperCase() : null;
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<TransactionDTO> rows = transactionRepository.findPageByUserId(userId, normalizedType, category,
+                startDate, endDate, cursorDate, cursorId, PageRequest.of(0, size + 1));
+
+        boolean hasMore = rows.size() > size;
+        List<TransactionDTO> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionDTO last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getDate(), last.getId());
+        }
+
+        return new TransactionPageDTO(page, nextCursor, hasMore);
+    }
+
+    // Writes the user's full history as a JSON array without materializing it
+    @Transactional(readOnly = true)
+    public void streamTransactionsByUserId(Long userId, OutputStream out) throws IOException {
+        // DTO rows are not managed entities, so the persistence context stays empty however long the history
+        try (Stream<TransactionDTO> rows = transactionRepository.streamByUserId(userId);
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            Iterator<TransactionDTO> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    // Writes each user's full history in turn in the columnar export format; returns the row count
+    @Transactional(readOnly = true)
+    public long exportTransactionsColumnar(List<Long> userIds, OutputStream out) throws IOException {
+        ColumnarTransactionWriter writer = new ColumnarTransactionWriter(out, EXPORT_BATCH_SIZE);
+        for (Long userId : userIds) {
+            try (Stream<TransactionDTO> rows = transactionRepository.streamByUserId(userId)) {
+                Iterator<TransactionDTO> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(iterator.next());
+                }
+            }
+        }
+        return writer.finish();
+    }
+
+    static String encodeCursor(LocalDateTime date, Long id) {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
     }
 
+    // Rollups do not depend on status, so a status change leaves them untouched
+    @Transactional
     public Transaction updateTransactionStatus(Long transactionId, String updatedStatus) {
         // Retrieve the transaction by ID
         Transaction transaction = transactionRepository.findById(transactionId)
@@ -61,9 +175,12 @@ public class TransactionService {
         transaction.setStatus(updatedStatus);
 
         // Save the updated transaction
-        return transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(TransactionChangedEvent.of(TransactionChangedEvent.Kind.STATUS_CHANGED, saved));
+        return saved;
     }
 
+    @Transactional
     public void deleteTransaction(Long transactionId) {
         // Check if the transaction exists
         Transaction transaction = transactionRepository.findById(transactionId)
@@ -71,10 +188,12 @@ public class TransactionService {
 
         // Delete the transaction
         transactionRepository.delete(transaction);
+        rollupService.record(transaction, -1);
+        eventPublisher.publishEvent(TransactionChangedEvent.of(TransactionChangedEvent.Kind.DELETED, transaction));
     }
 
     public BigDecimal getTotalExpensesByCategory(Long userId, String category) {
-        return transactionRepository.getTotalExpensesByCategory(userId, category);
+        return rollupService.sumAllTime(userId, "EXPENSE", category);
     }
 
     public BigDecimal getTotalByTypeCategoryAndDateRange(Long userId, String type, String category,
@@ -85,8 +204,7 @@ public class TransactionService {
             normalizedType = type.toUpperCase();
         }
 
-        return transactionRepository.getTotalByTypeCategoryAndDateRange(
-                userId, normalizedType, category, startDate, endDate);
+        return rollupService.sumRange(userId, normalizedType, category, startDate, endDate);
     }
 
 }
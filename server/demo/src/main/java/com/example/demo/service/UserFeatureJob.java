@@ -0,0 +1,95 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Rebuilds every user's training features in one pass over the transactions table, split into
+// user id ranges that are scanned and rewritten in parallel; on one instance at a time
+@Component
+public class UserFeatureJob {
+
+    static final String LOCK_NAME = "user-features";
+
+    @Autowired
+    private UserFeatureService userFeatureService;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    // User ids per range; a range is one scan and one transaction
+    @Value("${features.partition-users:500}")
+    private int partitionUsers = 500;
+
+    @Value("${features.threads:4}")
+    private int threads = 4;
+
+    @Value("${features.lock-minutes:60}")
+    private long lockMinutes = 60;
+
+    // Returns null when another instance is already rebuilding
+    @Scheduled(cron = "${features.cron:0 0 4 * * *}")
+    public Map<String, Object> run() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, Duration.ofMinutes(lockMinutes))) {
+            return null;
+        }
+        try {
+            return rebuildAll();
+        } finally {
+            schedulerLockService.release(LOCK_NAME);
+        }
+    }
+
+    public Map<String, Object> rebuildAll() {
+        long started = System.currentTimeMillis();
+        long[] bounds = userFeatureService.userIdBounds();
+        List<Future<Integer>> ranges = new ArrayList<>();
+        int users = 0;
+        if (bounds != null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+                Thread thread = new Thread(task, "features-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                for (long from = bounds[0]; from <= bounds[1]; from += partitionUsers) {
+                    long rangeFrom = from;
+                    long rangeTo = Math.min(from + partitionUsers, bounds[1] + 1);
+                    ranges.add(executor.submit(() -> userFeatureService.rebuildRange(rangeFrom, rangeTo)));
+                }
+                for (Future<Integer> range : ranges) {
+                    users += range.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Feature rebuild interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Feature rebuild failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        long elapsed = System.currentTimeMillis() - started;
+        System.out.println("[FEATURES] Rebuilt features for " + users + " users in " + ranges.size() +
+                " ranges in " + elapsed + " ms");
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("users", users);
+        stats.put("ranges", ranges.size());
+        stats.put("elapsedMs", elapsed);
+        return stats;
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.FeaturePageDTO;
+import com.example.demo.dto.MonthlyFeatureDTO;
+import com.example.demo.dto.UserFeaturesDTO;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Per-user monthly features for model training (user_month_feature, user_month_category_feature),
+// so retraining reads a few pages instead of every user's full history. Features are rebuilt one
+// user id range at a time: the range's transactions come from one range scan of
+// idx_transaction_user_type_category_date, which covers every column read, in index order and so
+// already grouped by user, and the range's rows are replaced in the same transaction.
+// JdbcTemplate rather than entities, as for the change log: bulk rows, never read through Hibernate.
+@Service
+public class UserFeatureService {
+
+    static final String INCOME = "INCOME";
+    static final String EXPENSE = "EXPENSE";
+    // Months of expense totals the volatility is taken over, the month itself included
+    static final int VOLATILITY_MONTHS = 6;
+    // An expense of one category and amount is recurring once seen this many months in a row
+    static final int RECURRING_MONTHS = 3;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String SCAN_SQL = "SELECT user_id, type, category, date, amount FROM transaction " +
+            "WHERE user_id >= ? AND user_id < ? AND date >= ? AND amount IS NOT NULL " +
+            "ORDER BY user_id, type, category, date";
+    private static final String INSERT_MONTH_SQL = "INSERT INTO user_month_feature (user_id, period_start, " +
+            "income, expense, transaction_count, expense_volatility, recurring_count, computed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CATEGORY_SQL = "INSERT INTO user_month_category_feature (user_id, " +
+            "period_start, category, expense, transaction_count) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Months of features kept per user, ending with the current month
+    @Value("${features.history-months:36}")
+    private int historyMonths = 36;
+
+    // Lowest and highest user id, or null without users
+    public long[] userIdBounds() {
+        return jdbcTemplate.query("SELECT MIN(id), MAX(id) FROM users", rs -> {
+            rs.next();
+            long max = rs.getLong(2);
+            return rs.wasNull() ? null : new long[]{rs.getLong(1), max};
+        });
+    }
+
+    // Replaces the features of users fromUserId (inclusive) to toUserId (exclusive); returns how
+    // many of them have features
+    @Transactional
+    public int rebuildRange(long fromUserId, long toUserId) {
+        YearMonth firstMonth = YearMonth.now().minusMonths(historyMonths - 1);
+        // Earlier months are read only as the look-back of the first months' volatility and recurrence
+        YearMonth scanStart = firstMonth.minusMonths(VOLATILITY_MONTHS - 1);
+        RangeScan scan = new RangeScan(firstMonth, Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.query(SCAN_SQL, scan, fromUserId, toUserId, Timestamp.valueOf(scanStart.atDay(1).atStartOfDay()));
+        scan.finishUser();
+
+        jdbcTemplate.update("DELETE FROM user_month_category_feature WHERE user_id >= ? AND user_id < ?",
+                fromUserId, toUserId);
+        jdbcTemplate.update("DELETE FROM user_month_feature WHERE user_id >= ? AND user_id < ?", fromUserId, toUserId);
+        if (!scan.monthRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_MONTH_SQL, scan.monthRows);
+        }
+        if (!scan.categoryRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CATEGORY_SQL, scan.categoryRows);
+        }
+        return scan.users;
+    }
+
+    // Users with features after the cursor user id, in id order. One read-only transaction, so a
+    // page never mixes a range's rows from before and after a concurrent rebuild.
+    @Transactional(readOnly = true)
+    public FeaturePageDTO getPage(Long cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT user_id FROM user_month_feature WHERE user_id > ? ORDER BY user_id LIMIT ?",
+                Long.class, cursor != null ? cursor : Long.MIN_VALUE, limit + 1);
+        boolean hasMore = userIds.size() > limit;
+        if (hasMore) {
+            userIds = userIds.subList(0, limit);
+        }
+        if (userIds.isEmpty()) {
+            return new FeaturePageDTO(List.of(), null, false);
+        }
+        long first = userIds.get(0);
+        long last = userIds.get(userIds.size() - 1);
+
+        Map<Long, UserFeaturesDTO> users = new LinkedHashMap<>();
+        Map<Long, Map<Date, MonthlyFeatureDTO>> months = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, period_start, income, expense, transaction_count, expense_volatility, " +
+                        "recurring_count, computed_at FROM user_month_feature WHERE user_id >= ? AND user_id <= ? " +
+                        "ORDER BY user_id, period_start",
+                (RowCallbackHandler) rs -> {
+                    long userId = rs.getLong("user_id");
+                    Date period = rs.getDate("period_start");
+                    MonthlyFeatureDTO month = new MonthlyFeatureDTO(YearMonth.from(period.toLocalDate()).toString(),
+                            rs.getBigDecimal("income"), rs.getBigDecimal("expense"), rs.getInt("transaction_count"),
+                            rs.getBigDecimal("expense_volatility"), rs.getInt("recurring_count"));
+                    LocalDateTime computedAt = rs.getTimestamp("computed_at").toLocalDateTime();
+                    users.computeIfAbsent(userId, id -> new UserFeaturesDTO(id, computedAt)).getMonths().add(month);
+                    months.computeIfAbsent(userId, id -> new HashMap<>()).put(period, month);
+                }, first, last);
+        jdbcTemplate.query("SELECT user_id, period_start, category, expense FROM user_month_category_feature " +
+                        "WHERE user_id >= ? AND user_id <= ? ORDER BY user_id, period_start, category",
+                (RowCallbackHandler) rs -> {
+                    MonthlyFeatureDTO month = months.get(rs.getLong(1)).get(rs.getDate(2));
+                    month.getCategorySpend().put(rs.getString(3), rs.getBigDecimal(4));
+                }, first, last);
+
+        return new FeaturePageDTO(new ArrayList<>(users.values()), hasMore ? last : null, hasMore);
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Accumulates one user at a time as the ordered scan moves through the range
+    private static class RangeScan implements RowCallbackHandler {
+        private final YearMonth firstMonth;
+        private final Timestamp computedAt;
+        private final List<Object[]> monthRows = new ArrayList<>();
+        private final List<Object[]> categoryRows = new ArrayList<>();
+        private UserHistory current;
+        private int users;
+
+        private RangeScan(YearMonth firstMonth, Timestamp computedAt) {
+            this.firstMonth = firstMonth;
+            this.computedAt = computedAt;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long userId = rs.getLong(1);
+            if (current == null || current.userId != userId) {
+                finishUser();
+                current = new UserHistory(userId);
+            }
+            current.add(rs.getString(2), RollupService.normalize(rs.getString(3)),
+                    YearMonth.from(rs.getTimestamp(4).toLocalDateTime()), rs.getBigDecimal(5));
+        }
+
+        private void finishUser() {
+            if (current != null && current.emit(firstMonth, computedAt, monthRows, categoryRows)) {
+                users++;
+            }
+            current = null;
+        }
+    }
+
+    private static class MonthTotals {
+        private BigDecimal income = BigDecimal.ZERO;
+        private BigDecimal expense = BigDecimal.ZERO;
+        private int count;
+        // In scan order, which is category order
+        private final Map<String, CategoryTotal> categories = new LinkedHashMap<>();
+    }
+
+    private static class CategoryTotal {
+        private BigDecimal expense = BigDecimal.ZERO;
+        private int count;
+    }
+
+    private static class UserHistory {
+        private final long userId;
+        private final TreeMap<YearMonth, MonthTotals> months = new TreeMap<>();
+        // Months in which each (category, amount) expense was seen
+        private final Map<String, Set<YearMonth>> charges = new HashMap<>();
+
+        private UserHistory(long userId) {
+            this.userId = userId;
+        }
+
+        void add(String type, String category, YearMonth month, BigDecimal amount) {
+            MonthTotals totals = months.computeIfAbsent(month, m -> new MonthTotals());
+            totals.count++;
+            if (INCOME.equals(type)) {
+                totals.income = totals.income.add(amount);
+            } else if (EXPENSE.equals(type)) {
+                totals.expense = totals.expense.add(amount);
+                CategoryTotal categoryTotal = totals.categories.computeIfAbsent(category, c -> new CategoryTotal());
+                categoryTotal.expense = categoryTotal.expense.add(amount);
+                categoryTotal.count++;
+                charges.computeIfAbsent(category + '\u0000' + amount.stripTrailingZeros().toPlainString(),
+                        key -> new HashSet<>()).add(month);
+            }
+        }
+
+        // Adds rows for every month from the first active one in the window to the last active one;
+        // false when the user has nothing in the window
+        boolean emit(YearMonth firstMonth, Timestamp computedAt, List<Object[]> monthRows, List<Object[]> categoryRows) {
+            YearMonth start = months.ceilingKey(firstMonth);
+            if (start == null) {
+                return false;
+            }
+
+            Map<YearMonth, Integer> recurring = new HashMap<>();
+            for (Set<YearMonth> seen : charges.values()) {
+                for (YearMonth month : seen) {
+                    boolean run = true;
+                    for (int back = 1; back < RECURRING_MONTHS && run; back++) {
+                        run = seen.contains(month.minusMonths(back));
+                    }
+                    if (run) {
+                        recurring.merge(month, 1, Integer::sum);
+                    }
+                }
+            }
+
+            MonthTotals empty = new MonthTotals();
+            for (YearMonth month = start; !month.isAfter(months.lastKey()); month = month.plusMonths(1)) {
+                MonthTotals totals = months.getOrDefault(month, empty);
+                Date period = Date.valueOf(month.atDay(1));
+                monthRows.add(new Object[]{userId, period, totals.income, totals.expense, totals.count,
+                        money(volatility(month)), recurring.getOrDefault(month, 0), computedAt});
+                for (Map.Entry<String, CategoryTotal> category : totals.categories.entrySet()) {
+                    categoryRows.add(new Object[]{userId, period, category.getKey(), category.getValue().expense,
+                            category.getValue().count});
+                }
+            }
+            return true;
+        }
+
+        // Population standard deviation of the monthly expense totals ending with this month;
+        // months without expenses count as zero
+        private double volatility(YearMonth month) {
+            double[] totals = new double[VOLATILITY_MONTHS];
+            double mean = 0;
+            for (int i = 0; i < VOLATILITY_MONTHS; i++) {
+                MonthTotals monthTotals = months.get(month.minusMonths(i));
+                totals[i] = monthTotals != null ? monthTotals.expense.doubleValue() : 0;
+                mean += totals[i] / VOLATILITY_MONTHS;
+            }
+            double variance = 0;
+            for (double total : totals) {
+                variance += (total - mean) * (total - mean) / VOLATILITY_MONTHS;
+            }
+            return Math.sqrt(variance);
+        }
+    }
+}
@@ -3,10 +3,12 @@ package com.example.demo.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserPrincipal;
 
 @Service
 public class UserService {
@@ -25,8 +27,29 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    // Answered from the second-level and query caches; Hibernate invalidates them on every users write
     public User findByUsername(String username) {
-        return userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    // Caller's id straight from the JWT; tokens issued before the uid claim fall back to a cached lookup
+    public Long getCurrentUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof UserPrincipal principal && principal.getId() != null) {
+            return principal.getId();
+        }
+        return findByUsername(authentication.getName()).getId();
+    }
+
+    // Role authorities come from the JWT (JwtFilter), so this needs no lookup either
+    public boolean isService(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_" + UserPrincipal.SERVICE_ROLE));
+    }
+
+    // Uninitialized proxy for setting associations without loading the row
+    public User getUserReference(Long userId) {
+        return userRepository.getReferenceById(userId);
     }
 
     public List<User> getAllUsers() {
@@ -0,0 +1,102 @@
+package com.example.demo.util;
+
+// Exponential-smoothing forecasts for short monthly series: Holt's linear method and additive
+// Holt-Winters, both with a damped trend so a few steep months are not extrapolated indefinitely.
+// Smoothing parameters are picked by grid search on the one-step-ahead squared error; with at most
+// a few hundred points that is a few hundred thousand arithmetic steps.
+public final class ExponentialSmoothing {
+
+    private static final double[] ALPHAS = {0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9};
+    private static final double[] BETAS = {0.01, 0.05, 0.1, 0.2, 0.3};
+    private static final double[] GAMMAS = {0.05, 0.1, 0.2, 0.3, 0.5};
+    private static final double[] PHIS = {0.8, 0.9, 0.98};
+
+    private ExponentialSmoothing() {
+    }
+
+    // Holt's damped linear trend; needs at least 2 points
+    public static double[] holt(double[] y, int horizon) {
+        double bestError = Double.POSITIVE_INFINITY;
+        double[] best = null;
+        for (double alpha : ALPHAS) {
+            for (double beta : BETAS) {
+                for (double phi : PHIS) {
+                    double level = y[0];
+                    double trend = y[1] - y[0];
+                    double error = 0;
+                    for (int t = 1; t < y.length; t++) {
+                        double predicted = level + phi * trend;
+                        error += (y[t] - predicted) * (y[t] - predicted);
+                        double previousLevel = level;
+                        level = alpha * y[t] + (1 - alpha) * predicted;
+                        trend = beta * (level - previousLevel) + (1 - beta) * phi * trend;
+                    }
+                    if (error < bestError) {
+                        bestError = error;
+                        best = project(level, trend, phi, null, 0, horizon);
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    // Additive Holt-Winters with a damped trend; needs at least two full periods. The first period
+    // seeds the level and seasonal offsets, the second the trend.
+    public static double[] holtWinters(double[] y, int period, int horizon) {
+        double firstMean = mean(y, 0, period);
+        double secondMean = mean(y, period, 2 * period);
+
+        double bestError = Double.POSITIVE_INFINITY;
+        double[] best = null;
+        for (double alpha : ALPHAS) {
+            for (double beta : BETAS) {
+                for (double gamma : GAMMAS) {
+                    for (double phi : PHIS) {
+                        double[] seasonal = new double[period];
+                        for (int i = 0; i < period; i++) {
+                            seasonal[i] = y[i] - firstMean;
+                        }
+                        double level = firstMean;
+                        double trend = (secondMean - firstMean) / period;
+                        double error = 0;
+                        for (int t = period; t < y.length; t++) {
+                            int season = t % period;
+                            double predicted = level + phi * trend + seasonal[season];
+                            error += (y[t] - predicted) * (y[t] - predicted);
+                            double previousLevel = level;
+                            level = alpha * (y[t] - seasonal[season]) + (1 - alpha) * (level + phi * trend);
+                            trend = beta * (level - previousLevel) + (1 - beta) * phi * trend;
+                            seasonal[season] = gamma * (y[t] - level) + (1 - gamma) * seasonal[season];
+                        }
+                        if (error < bestError) {
+                            bestError = error;
+                            best = project(level, trend, phi, seasonal, y.length, horizon);
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    // Step h adds phi + phi^2 + ... + phi^h trends, so the trend's effect levels off
+    private static double[] project(double level, double trend, double phi, double[] seasonal, int length, int horizon) {
+        double[] forecast = new double[horizon];
+        double damping = 0;
+        for (int h = 1; h <= horizon; h++) {
+            damping += Math.pow(phi, h);
+            forecast[h - 1] = level + damping * trend
+                    + (seasonal != null ? seasonal[(length + h - 1) % seasonal.length] : 0);
+        }
+        return forecast;
+    }
+
+    private static double mean(double[] y, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += y[i];
+        }
+        return sum / (to - from);
+    }
+}
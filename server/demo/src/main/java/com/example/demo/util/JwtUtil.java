@@ -1,14 +1,19 @@
 package com.example.demo.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import com.example.demo.model.User;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtil {
@@ -16,9 +21,29 @@ public class JwtUtil {
     private final String SECRET_KEY = "q3K9H7FxlcV9A4Z8D1T+3wI5M0N9P2L1O7J5E3Q8R6Y+5A4T3L2N7V6M0X1P8Q9J";
     private final long EXPIRATION_TIME = 1000 * 60 * 60 * 10; // 10 hours
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+
+    // Built once: decoding the key and building a parser per call dominated auth cost
+    private final Key signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    private final VerifiedTokenCache tokenCache;
+
+    public JwtUtil(@Value("${jwt.cache.max-entries:10000}") int maxCachedTokens) {
+        this.tokenCache = new VerifiedTokenCache(maxCachedTokens);
+    }
+
+    // Embeds the user id and roles so authenticated requests can skip the user lookup
+    public String generateToken(User user) {
+        List<String> roles = user.getRole() != null && !user.getRole().isBlank() ? List.of(user.getRole()) : List.of();
+        return Jwts.builder()
+                .setSubject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLES_CLAIM, roles)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
     }
 
     public String generateToken(String username) {
@@ -26,28 +51,37 @@ public class JwtUtil {
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // Single verification path: checks signature and expiry once and returns subject,
+    // expiry and custom claims together. Throws JwtException for an invalid or expired token.
+    public VerifiedToken parseToken(String token) {
+        VerifiedToken cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedToken verified = new VerifiedToken(extractClaims(token));
+        tokenCache.put(token, verified);
+        return verified;
+    }
+
     public boolean validateToken(String token, String username) {
-        String extractedUsername = extractUsername(token);
-        return extractedUsername.equals(username) && !isTokenExpired(token);
+        VerifiedToken verified = parseToken(token);
+        return verified.getSubject().equals(username) && !verified.isExpired(System.currentTimeMillis());
     }
 
     public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
+        return parseToken(token).getSubject();
     }
 
-    private Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public VerifiedTokenCache getTokenCache() {
+        return tokenCache;
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token).getExpiration().before(new Date());
+    private Claims extractClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 }
@@ -0,0 +1,46 @@
+package com.example.demo.util;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Re-runs a read-modify-write that lost an @Version race. Each attempt must re-read the
+// entity in a fresh transaction, so call this from outside any @Transactional method.
+public final class OptimisticRetry {
+
+    public static final int DEFAULT_ATTEMPTS = 3;
+
+    private OptimisticRetry() {}
+
+    public static <T> T run(Supplier<T> action) {
+        return run(DEFAULT_ATTEMPTS, action);
+    }
+
+    public static <T> T run(int maxAttempts, Supplier<T> action) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                System.out.println("[RETRY] Concurrent update detected, attempt " + attempt + " of " + maxAttempts);
+                backOff(attempt);
+            }
+        }
+    }
+
+    // Short jittered pause so colliding writers don't retry in lockstep
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 10L * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying", e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.demo.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Streaming estimate of the quartiles and median of a series, in constant space and O(1) per value:
+// the P-squared algorithm (Jain and Chlamtac, 1985) extended to several quantiles, with markers at
+// 0, 1/8, 1/4, ..., 7/8, 1. Each marker tracks the height at its quantile and is nudged by a
+// piecewise-parabolic step whenever its position drifts from where that quantile should sit.
+// Until MARKERS values have been seen the values themselves are kept, so small samples are exact.
+public final class QuantileSketch {
+
+    private static final int MARKERS = 9;
+    private static final int LOWER_QUARTILE = 2;
+    private static final int MEDIAN = 4;
+    private static final int UPPER_QUARTILE = 6;
+    // count, then the marker heights and positions
+    public static final int SERIALIZED_SIZE = Long.BYTES + MARKERS * Double.BYTES + MARKERS * Integer.BYTES;
+
+    private long count;
+    private final double[] heights = new double[MARKERS];
+    private final int[] positions = new int[MARKERS];
+
+    public long count() {
+        return count;
+    }
+
+    public void add(double value) {
+        if (count < MARKERS) {
+            int index = (int) count;
+            heights[index] = value;
+            count++;
+            Arrays.sort(heights, 0, index + 1);
+            if (count == MARKERS) {
+                for (int i = 0; i < MARKERS; i++) {
+                    positions[i] = i + 1;
+                }
+            }
+            return;
+        }
+
+        // Cell the value falls in; the extreme markers track the minimum and maximum
+        int cell;
+        if (value < heights[0]) {
+            heights[0] = value;
+            cell = 0;
+        } else if (value >= heights[MARKERS - 1]) {
+            heights[MARKERS - 1] = value;
+            cell = MARKERS - 2;
+        } else {
+            cell = 0;
+            while (value >= heights[cell + 1]) {
+                cell++;
+            }
+        }
+        for (int i = cell + 1; i < MARKERS; i++) {
+            positions[i]++;
+        }
+        count++;
+
+        for (int i = 1; i < MARKERS - 1; i++) {
+            double desired = 1 + (count - 1) * (double) i / (MARKERS - 1);
+            double drift = desired - positions[i];
+            if ((drift >= 1 && positions[i + 1] - positions[i] > 1)
+                    || (drift <= -1 && positions[i - 1] - positions[i] < -1)) {
+                int step = drift > 0 ? 1 : -1;
+                double candidate = parabolic(i, step);
+                heights[i] = heights[i - 1] < candidate && candidate < heights[i + 1] ? candidate : linear(i, step);
+                positions[i] += step;
+            }
+        }
+    }
+
+    public double median() {
+        return quantile(MEDIAN);
+    }
+
+    public double lowerQuartile() {
+        return quantile(LOWER_QUARTILE);
+    }
+
+    public double upperQuartile() {
+        return quantile(UPPER_QUARTILE);
+    }
+
+    private double quantile(int marker) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (count >= MARKERS) {
+            return heights[marker];
+        }
+        // Exact, interpolating between the sorted values kept so far
+        double rank = (count - 1) * (double) marker / (MARKERS - 1);
+        int below = (int) Math.floor(rank);
+        int above = (int) Math.ceil(rank);
+        return heights[below] + (rank - below) * (heights[above] - heights[below]);
+    }
+
+    private double parabolic(int i, int step) {
+        double span = positions[i + 1] - positions[i - 1];
+        double up = (positions[i] - positions[i - 1] + step) * (heights[i + 1] - heights[i])
+                / (positions[i + 1] - positions[i]);
+        double down = (positions[i + 1] - positions[i] - step) * (heights[i] - heights[i - 1])
+                / (positions[i] - positions[i - 1]);
+        return heights[i] + step / span * (up + down);
+    }
+
+    private double linear(int i, int step) {
+        return heights[i] + step * (heights[i + step] - heights[i]) / (positions[i + step] - positions[i]);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(SERIALIZED_SIZE);
+        buffer.putLong(count);
+        for (double height : heights) {
+            buffer.putDouble(height);
+        }
+        for (int position : positions) {
+            buffer.putInt(position);
+        }
+        return buffer.array();
+    }
+
+    public static QuantileSketch fromBytes(byte[] bytes) {
+        if (bytes.length != SERIALIZED_SIZE) {
+            throw new IllegalArgumentException("Invalid sketch of " + bytes.length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.count = buffer.getLong();
+        for (int i = 0; i < MARKERS; i++) {
+            sketch.heights[i] = buffer.getDouble();
+        }
+        for (int i = 0; i < MARKERS; i++) {
+            sketch.positions[i] = buffer.getInt();
+        }
+        return sketch;
+    }
+}
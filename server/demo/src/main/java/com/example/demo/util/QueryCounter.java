@@ -0,0 +1,79 @@
+package com.example.demo.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hibernate statement inspector that tallies the SQL a request runs. Counting only happens between
+// start() and stop() on the request thread, or in tasks wrapped by propagate(), so scheduled jobs
+// and startup work are ignored.
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+    public static void start() {
+        CURRENT.set(new Tally());
+    }
+
+    public static Tally stop() {
+        Tally tally = CURRENT.get();
+        CURRENT.remove();
+        return tally;
+    }
+
+    // Lets work the request hands to another thread (e.g. the dashboard fan-out) count toward it;
+    // usable as a TaskDecorator
+    public static Runnable propagate(Runnable task) {
+        Tally tally = CURRENT.get();
+        if (tally == null) {
+            return task;
+        }
+        return () -> {
+            CURRENT.set(tally);
+            try {
+                task.run();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Tally tally = CURRENT.get();
+        if (tally != null) {
+            tally.record(sql);
+        }
+        // Returning the statement unchanged; the inspector only observes
+        return sql;
+    }
+
+    public static class Tally {
+
+        private final Map<String, Integer> countsBySql = new ConcurrentHashMap<>();
+        private final AtomicInteger total = new AtomicInteger();
+
+        void record(String sql) {
+            total.incrementAndGet();
+            countsBySql.merge(sql, 1, Integer::sum);
+        }
+
+        public int getTotal() {
+            return total.get();
+        }
+
+        // The most repeated statement and its count; bind parameters are placeholders, so a
+        // lazy load inside a loop shows up as one statement with a high count
+        public Map.Entry<String, Integer> getMostRepeated() {
+            Map.Entry<String, Integer> top = null;
+            for (Map.Entry<String, Integer> entry : countsBySql.entrySet()) {
+                if (top == null || entry.getValue() > top.getValue()) {
+                    top = entry;
+                }
+            }
+            return top;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.util;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Result of a single signature check: everything the request path needs from the token
+public class VerifiedToken {
+    private final String subject;
+    private final Date expiration;
+    private final Map<String, Object> claims;
+
+    public VerifiedToken(Claims claims) {
+        this.subject = claims.getSubject();
+        this.expiration = claims.getExpiration();
+        this.claims = Collections.unmodifiableMap(new HashMap<>(claims));
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public Map<String, Object> getClaims() {
+        return claims;
+    }
+
+    public Long getUserId() {
+        Object uid = claims.get(JwtUtil.USER_ID_CLAIM);
+        return uid instanceof Number ? ((Number) uid).longValue() : null;
+    }
+
+    public List<String> getRoles() {
+        Object roles = claims.get(JwtUtil.ROLES_CLAIM);
+        if (!(roles instanceof List<?>)) {
+            return List.of();
+        }
+        return ((List<?>) roles).stream().map(String::valueOf).toList();
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiration != null && expiration.getTime() <= nowMillis;
+    }
+}
@@ -0,0 +1,68 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update (MySQL dialect), and nothing
+-- since: databases that already have it are baselined at this version and start from V2, so anything
+-- added later belongs in a later migration. InnoDB is the MySQL default engine, so the tables leave it
+-- implicit and the script also runs on H2 for the local profile.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255),
+    income_allow INTEGER,
+    age INTEGER,
+    set_amount INTEGER,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE transaction (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    amount DECIMAL(38,2),
+    category VARCHAR(255),
+    description VARCHAR(255),
+    type VARCHAR(255),
+    date DATETIME(6),
+    status VARCHAR(255),
+    payment_method VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE budget (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    category VARCHAR(255),
+    amount DECIMAL(38,2) NOT NULL,
+    description VARCHAR(255),
+    spent_amount DECIMAL(38,2) NOT NULL,
+    budget_type VARCHAR(255) NOT NULL,
+    last_reset_date DATE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE goal (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    name VARCHAR(255),
+    target_amount DECIMAL(38,2),
+    saved_amount DECIMAL(38,2),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE report (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    report_type VARCHAR(255),
+    total_income DECIMAL(38,2),
+    total_expense DECIMAL(38,2),
+    net_savings DECIMAL(38,2),
+    PRIMARY KEY (id)
+);
+
+-- Constraint names are the ones Hibernate generated, so baselined databases match
+ALTER TABLE users ADD CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email);
+ALTER TABLE users ADD CONSTRAINT UKr43af9ap4edm43mmtq01oddj6 UNIQUE (username);
+ALTER TABLE budget ADD CONSTRAINT FK5hquwcop4uwka537brlrxifl3 FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE goal ADD CONSTRAINT FKf70arauooy8e5a5egk8k69xdr FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE report ADD CONSTRAINT FKq50wsn94sc3mi90gtidk0k34a FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE transaction ADD CONSTRAINT FKanjpo5tiapru7an6cw4cu37y4 FOREIGN KEY (user_id) REFERENCES users (id);
@@ -0,0 +1,43 @@
+-- Tables and columns the application added while it still ran on ddl-auto=update, which a database
+-- baselined at V1 does not have yet: the monthly transaction rollups, the scheduler locks, the
+-- budget/goal optimistic-locking versions and the budget reset index.
+
+CREATE TABLE transaction_rollup (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    period_start DATE NOT NULL,
+    total DECIMAL(38,2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE transaction_rollup ADD CONSTRAINT uk_rollup_bucket UNIQUE (user_id, type, category, period_start);
+
+-- Rollups of the existing transactions, bucketed as RollupService does: null type and category as '',
+-- undated transactions in 1970-01
+INSERT INTO transaction_rollup (user_id, type, category, period_start, total, transaction_count)
+SELECT user_id, type, category, period_start, COALESCE(SUM(amount), 0), COUNT(*)
+FROM (
+    SELECT user_id, COALESCE(type, '') AS type, COALESCE(category, '') AS category,
+           CASE WHEN date IS NULL THEN DATE '1970-01-01'
+                ELSE CAST(CONCAT(YEAR(date), '-', LPAD(MONTH(date), 2, '0'), '-01') AS DATE) END AS period_start,
+           amount
+    FROM transaction
+) t
+GROUP BY user_id, type, category, period_start;
+
+CREATE TABLE scheduler_lock (
+    name VARCHAR(64) NOT NULL,
+    locked_until DATETIME(6) NOT NULL,
+    locked_at DATETIME(6),
+    locked_by VARCHAR(255),
+    PRIMARY KEY (name)
+);
+
+-- Existing rows start at version 0
+ALTER TABLE budget ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE goal ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_budget_reset_due ON budget (budget_type, last_reset_date);
@@ -0,0 +1,17 @@
+-- Composite indexes for the TransactionRepository and budget access paths. Each leads with user_id,
+-- since every query is scoped to one user, followed by the columns the query filters, sorts or sums on.
+
+-- Recent transactions, keyset pages and the history stream:
+--   WHERE user_id = ? ORDER BY date DESC, id DESC, in index order with no sort
+CREATE INDEX idx_transaction_user_date ON transaction (user_id, date DESC, id DESC);
+
+-- Totals by type, with or without a date range; amount makes the SUM index-only
+CREATE INDEX idx_transaction_user_type_date ON transaction (user_id, type, date, amount);
+
+-- Totals by type and category with or without a date range, and the monthly rollup aggregation
+-- (GROUP BY type, category, month), again index-only
+CREATE INDEX idx_transaction_user_type_category_date ON transaction (user_id, type, category, date, amount);
+
+-- Budget lists and expense posting (user_id + category); goals are only read by user_id,
+-- which their foreign key index already covers
+CREATE INDEX idx_budget_user_category ON budget (user_id, category);
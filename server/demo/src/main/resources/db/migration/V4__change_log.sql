@@ -0,0 +1,18 @@
+-- One row per committed change to a user's transactions, budgets or goals, written in the same
+-- database transaction as the change. id is the sync sequence handed to clients as their token.
+-- entity_id is null when several of the user's rows of that type changed in one statement.
+CREATE TABLE change_log (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id BIGINT,
+    operation VARCHAR(8) NOT NULL,
+    changed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Delta reads: WHERE user_id = ? AND id > ? ORDER BY id
+CREATE INDEX idx_change_log_user_id ON change_log (user_id, id);
+
+-- Retention purge by age
+CREATE INDEX idx_change_log_changed_at ON change_log (changed_at);
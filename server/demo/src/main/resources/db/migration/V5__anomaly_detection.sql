@@ -0,0 +1,32 @@
+-- Online anomaly detection for expenses. anomaly_model holds one serialized QuantileSketch of the
+-- user's expense amounts per category ('' when uncategorized); it is updated under a row lock in
+-- the transaction that writes the expense, so concurrent writers fold their amounts in one at a time.
+CREATE TABLE anomaly_model (
+    user_id BIGINT NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    sketch VARBINARY(128) NOT NULL,
+    PRIMARY KEY (user_id, category)
+);
+
+-- Expenses flagged when they were written, with the category statistics they were judged against
+CREATE TABLE transaction_anomaly (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    transaction_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    category VARCHAR(255),
+    amount DECIMAL(38,2) NOT NULL,
+    transaction_date DATETIME(6),
+    typical_amount DECIMAL(38,2) NOT NULL,
+    threshold DECIMAL(38,2) NOT NULL,
+    detected_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE transaction_anomaly ADD CONSTRAINT uk_transaction_anomaly_transaction UNIQUE (transaction_id);
+
+-- A flag goes away with its transaction
+ALTER TABLE transaction_anomaly ADD CONSTRAINT fk_transaction_anomaly_transaction
+    FOREIGN KEY (transaction_id) REFERENCES transaction (id) ON DELETE CASCADE;
+
+-- Per-user listing, newest first
+CREATE INDEX idx_transaction_anomaly_user_date ON transaction_anomaly (user_id, transaction_date);
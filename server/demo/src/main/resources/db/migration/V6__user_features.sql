@@ -0,0 +1,25 @@
+-- Per-user monthly model-training features, rebuilt in bulk by UserFeatureJob one user id range
+-- at a time (each range deleted and rewritten in one transaction) and read in user id order.
+-- Months run from the user's first active month in the feature window to the last; months
+-- between without transactions are present with zeros.
+CREATE TABLE user_month_feature (
+    user_id BIGINT NOT NULL,
+    period_start DATE NOT NULL,
+    income DECIMAL(38,2) NOT NULL,
+    expense DECIMAL(38,2) NOT NULL,
+    transaction_count INTEGER NOT NULL,
+    expense_volatility DECIMAL(38,2) NOT NULL,
+    recurring_count INTEGER NOT NULL,
+    computed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id, period_start)
+);
+
+-- Expense per category for the same months; only categories with spending that month
+CREATE TABLE user_month_category_feature (
+    user_id BIGINT NOT NULL,
+    period_start DATE NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    expense DECIMAL(38,2) NOT NULL,
+    transaction_count INTEGER NOT NULL,
+    PRIMARY KEY (user_id, period_start, category)
+);
@@ -2,6 +2,7 @@ package com.example.demo.controller;
 
 import com.example.demo.model.Goal;
 import com.example.demo.model.User;
+import com.example.demo.service.DataVersionService;
 import com.example.demo.service.GoalService;
 import com.example.demo.service.TransactionService;
 import com.example.demo.service.UserService;
@@ -10,7 +11,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -29,6 +34,9 @@ class GoalControllerTest {
     @Mock
     private UserService userService;
 
+    @Spy
+    private DataVersionService dataVersionService = new DataVersionService();
+
     @InjectMocks
     private GoalController goalController;
 
@@ -44,11 +52,34 @@ class GoalControllerTest {
         goal.setId(1L);
     }
 
+    private ServletWebRequest getRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/goals/1");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
     @Test
     void testGetGoalsByUserId() {
         when(goalService.getGoalsByUserId(1L)).thenReturn(List.of(goal));
-        List<Goal> goals = goalController.getGoalsByUserId("1");
-        assertEquals(1, goals.size());
+        ResponseEntity<List<Goal>> response = goalController.getGoalsByUserId("1", getRequest(null));
+        assertEquals(1, response.getBody().size());
+        assertNotNull(response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetGoalsByUserIdNotModifiedSkipsQuery() {
+        String etag = dataVersionService.etag(1L, DataVersionService.Resource.GOALS);
+        ServletWebRequest request = getRequest(etag);
+
+        assertNull(goalController.getGoalsByUserId("1", request));
+        assertEquals(304, request.getResponse().getStatus());
+        verify(goalService, never()).getGoalsByUserId(1L);
+
+        // Any goal write moves the version, so the same tag no longer matches
+        dataVersionService.bump(1L, DataVersionService.Resource.GOALS);
+        assertNotNull(goalController.getGoalsByUserId("1", getRequest(etag)));
     }
 
     @Test
@@ -1,16 +1,23 @@
 package com.example.demo.controller;
 
 import com.example.demo.dto.StatusUpdateRequest;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.config.SecurityConfig;
 import com.example.demo.model.Transaction;
 import com.example.demo.model.User;
+import com.example.demo.service.DataVersionService;
+import com.example.demo.service.TransactionImportService;
 import com.example.demo.service.TransactionService;
 import com.example.demo.service.UserService;
+import com.example.demo.util.JwtUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -19,10 +26,15 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+// The app's security rules with an authenticated caller, and the real version service so the ETags
+// are the ones the controller would send; the meter registry is for QueryCountFilter
 @WebMvcTest(TransactionController.class)
+@Import({SecurityConfig.class, DataVersionService.class, SimpleMeterRegistry.class})
+@WithMockUser(username = "testUser")
 class TransactionControllerTest {
 
     @Autowired
@@ -31,9 +43,19 @@ class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private TransactionImportService transactionImportService;
+
     @MockBean
     private UserService userService;
 
+    // For JwtFilter, which @WebMvcTest picks up
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -61,7 +83,6 @@ class TransactionControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "testUser")
     void testAddTransaction_Success() throws Exception {
         User user = new User();
         user.setId(1L);
@@ -70,7 +91,8 @@ class TransactionControllerTest {
         Transaction transaction = createTransaction(user);
         transaction.setId(1L);
 
-        Mockito.when(userService.findByUsername("testUser")).thenReturn(user);
+        Mockito.when(userService.getCurrentUserId(any())).thenReturn(1L);
+        Mockito.when(userService.getUserReference(1L)).thenReturn(user);
         Mockito.when(transactionService.addTransaction(any(Transaction.class), eq(user)))
                 .thenReturn(transaction);
 
@@ -90,11 +112,29 @@ class TransactionControllerTest {
         transaction.setId(1L);
 
         Mockito.when(transactionService.getTransactionsByUserId(1L))
-                .thenReturn(Collections.singletonList(transaction));
+                .thenReturn(Collections.singletonList(TransactionDTO.from(transaction)));
 
         mockMvc.perform(get("/api/transactions/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].category").value("Groceries"));
+                .andExpect(jsonPath("$[0].category").value("Groceries"))
+                .andExpect(jsonPath("$[0].userId").value(1))
+                .andExpect(jsonPath("$[0].user").doesNotExist());
+    }
+
+    @Test
+    void testGetTransactionsByUserIdNotModifiedSkipsQuery() throws Exception {
+        String etag = dataVersionService.etag(1L, DataVersionService.Resource.TRANSACTIONS);
+
+        mockMvc.perform(get("/api/transactions/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        Mockito.verify(transactionService, never()).getTransactionsByUserId(1L);
+
+        // Any transaction write moves the version, so the same tag no longer matches
+        dataVersionService.bump(1L, DataVersionService.Resource.TRANSACTIONS);
+        mockMvc.perform(get("/api/transactions/1").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", dataVersionService.etag(1L, DataVersionService.Resource.TRANSACTIONS)));
     }
 
     @Test
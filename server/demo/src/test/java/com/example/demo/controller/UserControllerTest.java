@@ -1,12 +1,17 @@
 package com.example.demo.controller;
 
+import com.example.demo.config.SecurityConfig;
 import com.example.demo.model.User;
 import com.example.demo.service.UserService;
+import com.example.demo.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
@@ -16,7 +21,10 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+// The app's security rules with an authenticated caller; the meter registry is for QueryCountFilter
 @WebMvcTest(UserController.class)
+@Import({SecurityConfig.class, SimpleMeterRegistry.class})
+@WithMockUser(username = "john")
 class UserControllerTest {
 
     @Autowired
@@ -25,6 +33,10 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    // For JwtFilter, which @WebMvcTest picks up
+    @MockBean
+    private JwtUtil jwtUtil;
+
     @Test
     void testGetUserInfo() throws Exception {
         User user = new User();
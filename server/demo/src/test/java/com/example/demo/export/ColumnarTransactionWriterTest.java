@@ -0,0 +1,117 @@
+package com.example.demo.export;
+
+import com.example.demo.dto.TransactionDTO;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarTransactionWriterTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 3, 1, 12, 30, 0, 250_000_000);
+
+    private static byte[] export(int batchSize, TransactionDTO... rows) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnarTransactionWriter writer = new ColumnarTransactionWriter(out, batchSize);
+        for (TransactionDTO row : rows) {
+            writer.write(row);
+        }
+        assertThat(writer.finish()).isEqualTo(rows.length);
+        return out.toByteArray();
+    }
+
+    private static List<String> readDelta(ByteBuffer buffer, List<String> dictionary) {
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            dictionary.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return dictionary;
+    }
+
+    @Test
+    void testWritesColumnsOfOneBatch() throws Exception {
+        byte[] bytes = export(16,
+                new TransactionDTO(7L, 3L, new BigDecimal("12.5"), "Food", "Lunch", "EXPENSE", DATE, "completed", "card"),
+                new TransactionDTO(8L, 3L, null, null, null, "INCOME", null, "completed", "card"));
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        byte[] magic = new byte[4];
+        buffer.get(magic);
+        assertThat(new String(magic, StandardCharsets.US_ASCII)).isEqualTo("FTXC");
+        assertThat(buffer.get()).isEqualTo((byte) ColumnarTransactionWriter.VERSION);
+
+        assertThat(buffer.getInt()).isEqualTo(2);
+        assertThat(readDelta(buffer, new ArrayList<>())).containsExactly("Food");
+        assertThat(readDelta(buffer, new ArrayList<>())).containsExactly("EXPENSE", "INCOME");
+        assertThat(readDelta(buffer, new ArrayList<>())).containsExactly("completed");
+        assertThat(readDelta(buffer, new ArrayList<>())).containsExactly("card");
+
+        assertThat(new long[]{buffer.getLong(), buffer.getLong()}).containsExactly(7L, 8L);
+        assertThat(new long[]{buffer.getLong(), buffer.getLong()}).containsExactly(3L, 3L);
+        assertThat(new long[]{buffer.getLong(), buffer.getLong()}).containsExactly(1250L, Long.MIN_VALUE);
+        // 2024-03-01T12:30:00.25 in microseconds since the epoch
+        assertThat(new long[]{buffer.getLong(), buffer.getLong()}).containsExactly(1709296200250000L, Long.MIN_VALUE);
+        assertThat(new int[]{buffer.getInt(), buffer.getInt()}).containsExactly(0, -1);
+        assertThat(new int[]{buffer.getInt(), buffer.getInt()}).containsExactly(0, 1);
+        assertThat(new int[]{buffer.getInt(), buffer.getInt()}).containsExactly(0, 0);
+        assertThat(new int[]{buffer.getInt(), buffer.getInt()}).containsExactly(0, 0);
+        assertThat(new int[]{buffer.getInt(), buffer.getInt(), buffer.getInt()}).containsExactly(0, 5, 5);
+        byte[] descriptions = new byte[5];
+        buffer.get(descriptions);
+        assertThat(new String(descriptions, StandardCharsets.UTF_8)).isEqualTo("Lunch");
+
+        assertThat(buffer.getInt()).isZero();
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void testLaterBatchesOnlyCarryNewDictionaryEntries() throws Exception {
+        byte[] bytes = export(2,
+                new TransactionDTO(1L, 1L, BigDecimal.ONE, "Food", "Café", "EXPENSE", DATE, "completed", "card"),
+                new TransactionDTO(2L, 1L, BigDecimal.ONE, "Rent", "Flat", "EXPENSE", DATE, "completed", "card"),
+                new TransactionDTO(3L, 2L, BigDecimal.TEN, "Food", "Deli", "EXPENSE", DATE, "pending", "card"));
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 5, bytes.length - 5).order(ByteOrder.LITTLE_ENDIAN);
+        List<String> categories = new ArrayList<>();
+        List<String> statuses = new ArrayList<>();
+
+        assertThat(buffer.getInt()).isEqualTo(2);
+        readDelta(buffer, categories);
+        readDelta(buffer, new ArrayList<>());
+        readDelta(buffer, statuses);
+        readDelta(buffer, new ArrayList<>());
+        // Skip to the description offsets: four long and four int columns
+        buffer.position(buffer.position() + 2 * (4 * Long.BYTES + 4 * Integer.BYTES));
+        int[] offsets = {buffer.getInt(), buffer.getInt(), buffer.getInt()};
+        assertThat(offsets).containsExactly(0, "Café".getBytes(StandardCharsets.UTF_8).length, 9);
+        buffer.position(buffer.position() + offsets[2]);
+
+        assertThat(buffer.getInt()).isEqualTo(1);
+        assertThat(buffer.getInt()).isZero();
+        assertThat(buffer.getInt()).isZero();
+        readDelta(buffer, statuses);
+        assertThat(buffer.getInt()).isZero();
+        assertThat(categories).containsExactly("Food", "Rent");
+        assertThat(statuses).containsExactly("completed", "pending");
+
+        long id = buffer.getLong();
+        long userId = buffer.getLong();
+        long amount = buffer.getLong();
+        buffer.getLong();
+        int[] codes = {buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt()};
+        assertThat(Arrays.asList(id, userId, amount)).containsExactly(3L, 2L, 1000L);
+        assertThat(codes).containsExactly(0, 0, 1, 0);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.filter;
+
+import com.example.demo.util.QueryCounter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCountFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryCounter inspector = new QueryCounter();
+    private final QueryCountFilter filter = new QueryCountFilter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(filter, "nPlusOneThreshold", 10);
+    }
+
+    @Test
+    void testRepeatedStatementIsFlagged() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/budgets/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/budgets/{userId}");
+            inspector.inspect("select b1_0.id from budget b1_0 where b1_0.user_id=?");
+            for (int i = 0; i < 12; i++) {
+                inspector.inspect("select u1_0.id from users u1_0 where u1_0.id=?");
+            }
+        });
+
+        assertThat(meterRegistry.get("app.request.queries").tag("uri", "/api/budgets/{userId}").summary().totalAmount())
+                .isEqualTo(13.0);
+        assertThat(meterRegistry.get("app.request.n_plus_one").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testDistinctStatementsAreNotFlagged() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dashboard/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            for (int i = 0; i < 12; i++) {
+                inspector.inspect("select " + i);
+            }
+        });
+
+        assertThat(meterRegistry.get("app.request.queries").tag("uri", "UNKNOWN").summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("app.request.n_plus_one").counter()).isNull();
+        // Outside a request nothing is tallied
+        assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+        assertThat(QueryCounter.stop()).isNull();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImportRowParserTest {
+
+    private final List<ImportRow> rows = new ArrayList<>();
+    private final List<String> errors = new ArrayList<>();
+
+    private final ImportRowHandler handler = new ImportRowHandler() {
+        @Override
+        public void onRow(ImportRow row) {
+            rows.add(row);
+        }
+
+        @Override
+        public void onError(long line, String message) {
+            errors.add(line + ": " + message);
+        }
+    };
+
+    @Test
+    void testCsvWithQuotedFieldsAndBadRow() throws IOException {
+        String csv = "Date,Amount,Type,Category,Description\n" +
+                "2024-03-01,12.50,EXPENSE,Food,\"Lunch, with \"\"team\"\"\"\n" +
+                "not-a-date,10,EXPENSE,Food,Oops\n" +
+                "03/05/2024,\"1,200.00\",INCOME,Salary,\"Multi\nline\"\n";
+
+        new CsvRowParser().parse(new StringReader(csv), handler);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getDescription()).isEqualTo("Lunch, with \"team\"");
+        assertThat(rows.get(1).getAmount()).isEqualByComparingTo("1200.00");
+        assertThat(rows.get(1).getDate()).isEqualTo(LocalDateTime.of(2024, 3, 5, 0, 0));
+        assertThat(rows.get(1).getDescription()).isEqualTo("Multi\nline");
+        assertThat(errors).containsExactly("3: Unrecognized date: not-a-date");
+    }
+
+    @Test
+    void testOfxOnSingleLine() throws IOException {
+        String ofx = "OFXHEADER:100\n<OFX><BANKTRANLIST>" +
+                "<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20240310120000[-5:EST]<TRNAMT>-42.10<NAME>GROCER</STMTTRN>" +
+                "<STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20240315<TRNAMT>1500.00<MEMO>PAYROLL</STMTTRN>" +
+                "<STMTTRN><TRNTYPE>DEBIT<NAME>NO DATE</STMTTRN>" +
+                "</BANKTRANLIST></OFX>";
+
+        new OfxRowParser().parse(new StringReader(ofx), handler);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getAmount()).isEqualByComparingTo("-42.10");
+        assertThat(rows.get(0).getDate()).isEqualTo(LocalDateTime.of(2024, 3, 10, 0, 0));
+        assertThat(rows.get(1).getDescription()).isEqualTo("PAYROLL");
+        assertThat(errors).hasSize(1);
+    }
+
+    @Test
+    void testQif() throws IOException {
+        String qif = "!Type:Bank\n" +
+                "D03/01/2024\nT-25.00\nPCoffee Shop\nLDining\n^\n" +
+                "D03/02/2024\nT-100.00\nPTransfer\nL[Savings]\n^\n";
+
+        new QifRowParser().parse(new StringReader(qif), handler);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getCategory()).isEqualTo("Dining");
+        assertThat(rows.get(0).getLine()).isEqualTo(2);
+        assertThat(rows.get(1).getCategory()).isNull();
+    }
+
+    @Test
+    void testUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> ImportRowParser.forFormat("xlsx"));
+    }
+}
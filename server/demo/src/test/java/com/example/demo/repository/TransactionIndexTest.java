@@ -0,0 +1,92 @@
+package com.example.demo.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Checks that the migrated schema gives each TransactionRepository query shape an index access path.
+// The plans come from H2's planner (MySQL mode), which stands in for MySQL's EXPLAIN here; the SQL
+// mirrors what Hibernate generates for the JPQL, with literals in place of bind parameters.
+@JdbcTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:indexes;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TransactionIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // A few users with enough rows that a full scan is never the cheaper plan
+        jdbcTemplate.update("DELETE FROM transaction");
+        jdbcTemplate.update("DELETE FROM users");
+        List<Object[]> transactions = new ArrayList<>();
+        for (long userId = 1; userId <= 20; userId++) {
+            jdbcTemplate.update("INSERT INTO users (id, username, email, password) VALUES (?, ?, ?, 'x')",
+                    userId, "user" + userId, "user" + userId + "@example.com");
+            for (int i = 0; i < 50; i++) {
+                transactions.add(new Object[]{userId, i % 2 == 0 ? "EXPENSE" : "INCOME", "Category" + (i % 5),
+                        String.format("2024-%02d-%02d 12:00:00", i % 12 + 1, i % 28 + 1)});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO transaction (user_id, type, category, date, amount) VALUES (?, ?, ?, ?, 10.00)",
+                transactions);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class)).toUpperCase();
+    }
+
+    @Test
+    void testDateBoundedPageUsesUserDateIndex() {
+        // H2 does not credit an index for ORDER BY after an equality prefix, nor split the keyset OR into
+        // ranges as MySQL does, so the page is checked with its date filter, where the range decides
+        String plan = explain("SELECT id, user_id, amount, category, description, type, date, status, payment_method " +
+                "FROM transaction WHERE user_id = 3 " +
+                "AND date >= '2024-03-01 00:00:00' AND date <= '2024-03-31 23:59:59' " +
+                "ORDER BY date DESC, id DESC LIMIT 20");
+
+        assertThat(plan).contains("IDX_TRANSACTION_USER_DATE:");
+    }
+
+    @Test
+    void testTypeTotalsUseCoveringTypeDateIndex() {
+        assertThat(explain("SELECT COALESCE(SUM(amount), 0) FROM transaction WHERE user_id = 3 AND type = 'EXPENSE'"))
+                .contains("IDX_TRANSACTION_USER_TYPE_DATE:");
+        assertThat(explain("SELECT COALESCE(SUM(amount), 0) FROM transaction WHERE user_id = 3 AND type = 'EXPENSE' " +
+                "AND date BETWEEN '2024-01-01 00:00:00' AND '2024-03-31 23:59:59'"))
+                .contains("IDX_TRANSACTION_USER_TYPE_DATE:");
+    }
+
+    @Test
+    void testCategoryTotalsUseTypeCategoryIndex() {
+        assertThat(explain("SELECT COALESCE(SUM(amount), 0) FROM transaction WHERE user_id = 3 " +
+                "AND type = 'EXPENSE' AND category = 'Category1'"))
+                .contains("IDX_TRANSACTION_USER_TYPE_CATEGORY_DATE");
+        assertThat(explain("SELECT COALESCE(SUM(amount), 0) FROM transaction WHERE user_id = 3 " +
+                "AND type = 'EXPENSE' AND category = 'Category1' " +
+                "AND date >= '2024-01-01 00:00:00' AND date < '2024-02-01 00:00:00'"))
+                .contains("IDX_TRANSACTION_USER_TYPE_CATEGORY_DATE");
+    }
+
+    @Test
+    void testMonthlyAggregationReadsByUser() {
+        String plan = explain("SELECT type, category, YEAR(date), MONTH(date), SUM(amount), COUNT(*) " +
+                "FROM transaction WHERE user_id = 3 GROUP BY type, category, YEAR(date), MONTH(date)");
+
+        assertThat(plan).containsPattern("IDX_TRANSACTION_USER_[A-Z_]+: USER_ID =");
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AnomalyDTO;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.User;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:anomaly;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class AnomalyDetectionServiceTest {
+
+    @Autowired
+    private AnomalyDetectionService anomalyDetectionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("anomaly" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPassword("secret");
+        user = userService.registerUser(user);
+    }
+
+    private Transaction addExpense(String category, String amount) {
+        Transaction transaction = new Transaction(null, new BigDecimal(amount), category, "Purchase", "EXPENSE",
+                LocalDateTime.now(), "completed", "card");
+        return transactionService.addTransaction(transaction, userService.getUserReference(user.getId()));
+    }
+
+    private void addRegularGroceries(int count) {
+        for (int i = 0; i < count; i++) {
+            addExpense("Groceries", String.valueOf(40 + i % 5 * 5));
+        }
+    }
+
+    @Test
+    void testLargeExpenseIsFlaggedOnceTheCategoryHasHistory() {
+        addExpense("Groceries", "900.00");
+        addRegularGroceries(12);
+        Transaction spike = addExpense("Groceries", "600.00");
+        addExpense("Groceries", "52.00");
+
+        List<AnomalyDTO> anomalies = anomalyDetectionService.getAnomalies(user.getId());
+        assertThat(anomalies).extracting(AnomalyDTO::getId).containsExactly(spike.getId());
+        AnomalyDTO anomaly = anomalies.get(0);
+        assertThat(anomaly.getCategory()).isEqualTo("Groceries");
+        assertThat(anomaly.getTypicalAmount()).isBetween(new BigDecimal("40"), new BigDecimal("60"));
+        assertThat(anomaly.getThreshold()).isLessThan(new BigDecimal("600"));
+    }
+
+    @Test
+    void testCategoriesAreJudgedSeparately() {
+        addRegularGroceries(12);
+        for (int i = 0; i < 12; i++) {
+            addExpense("Rent", "1500.00");
+        }
+        addExpense("Rent", "1550.00");
+
+        assertThat(anomalyDetectionService.getAnomalies(user.getId())).isEmpty();
+    }
+
+    @Test
+    void testDeletingATransactionRemovesItsFlag() {
+        addRegularGroceries(12);
+        Transaction spike = addExpense("Groceries", "700.00");
+        assertThat(anomalyDetectionService.getAnomalies(user.getId())).hasSize(1);
+
+        transactionService.deleteTransaction(spike.getId());
+
+        assertThat(anomalyDetectionService.getAnomalies(user.getId())).isEmpty();
+    }
+
+    @Test
+    void testImportedOutlierIsFlagged() throws Exception {
+        StringBuilder csv = new StringBuilder("date,amount,description,category\n");
+        for (int i = 1; i <= 12; i++) {
+            csv.append(String.format("2024-03-%02d,-%d.00,Lunch,Dining%n", i, 12 + i % 3));
+        }
+        csv.append("2024-03-20,-250.00,Banquet,Dining\n");
+
+        transactionImportService.importTransactions(user.getId(),
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), "csv");
+
+        assertThat(anomalyDetectionService.getAnomalies(user.getId())).extracting(AnomalyDTO::getAmount)
+                .containsExactly(new BigDecimal("250.00"));
+    }
+
+    @Test
+    void testNewCategoryIsSeededFromExistingHistory() {
+        // History written before the category had a model, as rows from before this feature would be
+        for (int i = 0; i < 12; i++) {
+            jdbcTemplate.update("INSERT INTO transaction (user_id, amount, category, description, type, date, " +
+                            "status, payment_method) VALUES (?, ?, 'Fuel', 'Fill-up', 'EXPENSE', ?, 'completed', 'card')",
+                    user.getId(), new BigDecimal(60 + i % 4), LocalDateTime.now().minusDays(30 - i));
+        }
+
+        Transaction spike = addExpense("Fuel", "400.00");
+
+        assertThat(anomalyDetectionService.getAnomalies(user.getId())).extracting(AnomalyDTO::getId)
+                .containsExactly(spike.getId());
+    }
+}
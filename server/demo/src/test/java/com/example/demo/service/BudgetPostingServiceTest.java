@@ -0,0 +1,111 @@
+package com.example.demo.service;
+
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.User;
+import com.example.demo.repository.BudgetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BudgetPostingServiceTest {
+
+    @Mock
+    private BudgetService budgetService;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @InjectMocks
+    private BudgetPostingService postingService = new BudgetPostingService(2);
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        user = new User();
+        user.setId(1L);
+    }
+
+    private TransactionChangedEvent event(TransactionChangedEvent.Kind kind, String type, String amount, LocalDateTime date) {
+        Transaction transaction = new Transaction(user, new BigDecimal(amount), "Food", null, type, date, "completed", "cash");
+        return TransactionChangedEvent.of(kind, transaction);
+    }
+
+    @Test
+    void testAggregate_NetsEventsPerUserCategoryAndDay() {
+        LocalDateTime morning = LocalDateTime.of(2024, 3, 14, 9, 0);
+        List<SpentPosting> postings = BudgetPostingService.aggregate(List.of(
+                event(TransactionChangedEvent.Kind.CREATED, "EXPENSE", "10.00", morning),
+                event(TransactionChangedEvent.Kind.CREATED, "EXPENSE", "5.50", morning.plusHours(8)),
+                event(TransactionChangedEvent.Kind.CREATED, "EXPENSE", "7.00", morning.plusDays(1)),
+                event(TransactionChangedEvent.Kind.DELETED, "EXPENSE", "7.00", morning.plusDays(1))));
+
+        assertThat(postings).hasSize(1);
+        assertThat(postings.get(0).getDay()).isEqualTo(LocalDate.of(2024, 3, 14));
+        assertThat(postings.get(0).getAmount()).isEqualByComparingTo("15.50");
+    }
+
+    @Test
+    void testIncomeAndStatusChangesAreNotQueued() {
+        LocalDateTime date = LocalDateTime.of(2024, 3, 14, 9, 0);
+        postingService.onTransactionChanged(event(TransactionChangedEvent.Kind.CREATED, "INCOME", "100.00", date));
+        postingService.onTransactionChanged(event(TransactionChangedEvent.Kind.STATUS_CHANGED, "EXPENSE", "10.00", date));
+
+        postingService.flush();
+
+        verify(budgetService, never()).applyPostings(anyList());
+        assertThat(postingService.getStats()).containsEntry("queued", 0);
+    }
+
+    @Test
+    void testQueueOverflowFallsBackToReconcile() {
+        LocalDateTime date = LocalDateTime.of(2024, 3, 14, 9, 0);
+        for (int i = 0; i < 3; i++) {
+            postingService.onTransactionChanged(event(TransactionChangedEvent.Kind.CREATED, "EXPENSE", "1.00", date));
+        }
+
+        postingService.flush();
+
+        verify(budgetService).applyPostings(anyList());
+        verify(budgetService).reconcileUser(1L);
+        assertThat(postingService.getStats()).containsEntry("overflowed", 1L);
+    }
+
+    @Test
+    void testFailedBatchIsReconciled() {
+        doThrow(new RuntimeException("deadlock")).when(budgetService).applyPostings(anyList());
+        postingService.onTransactionChanged(event(TransactionChangedEvent.Kind.CREATED, "EXPENSE", "1.00",
+                LocalDateTime.of(2024, 3, 14, 9, 0)));
+
+        postingService.flush();
+
+        verify(budgetService).reconcileUser(1L);
+        assertThat(postingService.getStats()).containsEntry("failedBatches", 1L);
+    }
+
+    @Test
+    void testImportPostsDeltasWithoutReconciling() {
+        List<SpentPosting> postings = List.of(
+                new SpentPosting(1L, "Food", LocalDate.of(2024, 3, 14), new BigDecimal("12.50")));
+        postingService.onTransactionChanged(TransactionChangedEvent.imported(1L));
+        postingService.postImported(postings);
+
+        postingService.flush();
+
+        verify(budgetService).applyPostings(postings);
+        verify(budgetService, never()).reconcileUser(anyLong());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BudgetResetJobTest {
+
+    @Mock
+    private BudgetService budgetService;
+
+    @Mock
+    private SchedulerLockService schedulerLockService;
+
+    @InjectMocks
+    private BudgetResetJob budgetResetJob;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testRun_SkipsWhenAnotherInstanceHoldsTheLock() {
+        when(schedulerLockService.tryAcquire(eq(BudgetResetJob.LOCK_NAME), any(Duration.class))).thenReturn(false);
+
+        budgetResetJob.run();
+
+        verifyNoInteractions(budgetService);
+        verify(schedulerLockService, never()).release(anyString());
+    }
+
+    @Test
+    void testRun_DrainsFullBatchesThenReleasesLock() {
+        LocalDate monthStart = LocalDate.of(2024, 3, 1);
+        LocalDate yearStart = LocalDate.of(2024, 1, 1);
+        when(schedulerLockService.tryAcquire(eq(BudgetResetJob.LOCK_NAME), any(Duration.class))).thenReturn(true);
+        when(budgetService.getCurrentPeriodStart("monthly")).thenReturn(monthStart);
+        when(budgetService.getCurrentPeriodStart("yearly")).thenReturn(yearStart);
+        when(budgetService.resetDueBudgets("monthly", monthStart, 1000)).thenReturn(1000, 1000, 12);
+        when(budgetService.resetDueBudgets("yearly", yearStart, 1000)).thenReturn(0);
+
+        budgetResetJob.run();
+
+        verify(budgetService, times(3)).resetDueBudgets("monthly", monthStart, 1000);
+        verify(budgetService, times(1)).resetDueBudgets("yearly", yearStart, 1000);
+        verify(schedulerLockService).release(BudgetResetJob.LOCK_NAME);
+    }
+
+    @Test
+    void testRun_ReleasesLockWhenBatchFails() {
+        when(schedulerLockService.tryAcquire(eq(BudgetResetJob.LOCK_NAME), any(Duration.class))).thenReturn(true);
+        when(budgetService.resetDueBudgets(anyString(), any(), anyInt())).thenThrow(new RuntimeException("db down"));
+
+        try {
+            budgetResetJob.run();
+        } catch (RuntimeException e) {
+            assertThat(e).hasMessage("db down");
+        }
+
+        verify(schedulerLockService).release(BudgetResetJob.LOCK_NAME);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ChatContextDTO;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.model.Budget;
+import com.example.demo.model.Goal;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.User;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:chat;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class ChatContextServiceTest {
+
+    @Autowired
+    private ChatContextService chatContextService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("chat" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPassword("secret");
+        user = userService.registerUser(user);
+    }
+
+    private Transaction add(String type, String category, String amount, String description) {
+        Transaction transaction = new Transaction(null, new BigDecimal(amount), category, description, type,
+                LocalDateTime.now(), "completed", "card");
+        return transactionService.addTransaction(transaction, userService.getUserReference(user.getId()));
+    }
+
+    private long misses() {
+        return (long) meterRegistry.get("app.chat.context.cache.gets").tag("result", "miss").functionCounter().count();
+    }
+
+    @Test
+    void testContextSummarizesTheUsersData() {
+        add("INCOME", "Salary", "3000.00", "Pay");
+        add("EXPENSE", "Rent", "1200.00", "October rent");
+        add("EXPENSE", "Food", "80.00", "Groceries");
+        Budget budget = new Budget();
+        budget.setCategory("Food");
+        budget.setAmount(new BigDecimal("400.00"));
+        budget.setBudgetType("monthly");
+        budgetService.saveBudget(user.getId(), budget);
+        goalService.createGoal(user.getId(), new Goal(null, "Bike", new BigDecimal("800.00")));
+
+        ChatContextDTO context = chatContextService.getContext(user.getId());
+
+        assertThat(context.getNetSavings()).isEqualByComparingTo("1720.00");
+        assertThat(context.getMonthExpense()).isEqualByComparingTo("1280.00");
+        assertThat(context.getTopCategories()).containsOnlyKeys("Rent", "Food");
+        assertThat(context.getNotableTransactions()).extracting(TransactionDTO::getDescription)
+                .containsExactly("October rent", "Groceries");
+        assertThat(context.getSummary())
+                .contains("Totals: income 3000.00, expenses 1280.00, net savings 1720.00")
+                .contains("Budgets: Food (monthly)")
+                .contains("Savings goals: Bike 0.00 of 800.00 saved (0.0%)")
+                .contains("Top expense categories (last 3 months): Rent 1200.00; Food 80.00")
+                .contains("\"October rent\"");
+    }
+
+    @Test
+    void testWritesInvalidateTheCachedContext() {
+        add("EXPENSE", "Books", "25.00", "Novel");
+        ChatContextDTO first = chatContextService.getContext(user.getId());
+        long missesAfterBuild = misses();
+
+        assertThat(chatContextService.getContext(user.getId())).isSameAs(first);
+        assertThat(misses()).isEqualTo(missesAfterBuild);
+
+        add("EXPENSE", "Books", "40.00", "Atlas");
+        ChatContextDTO afterTransaction = chatContextService.getContext(user.getId());
+        assertThat(afterTransaction.getTotalExpense()).isEqualByComparingTo("65.00");
+
+        goalService.createGoal(user.getId(), new Goal(null, "Laptop", new BigDecimal("1500.00")));
+        assertThat(chatContextService.getContext(user.getId()).getGoals()).hasSize(1);
+        assertThat(misses()).isEqualTo(missesAfterBuild + 2);
+    }
+
+    @Test
+    void testTagMovesWithTheTtlWindowAndTheMonth() {
+        LocalDateTime windowStart = LocalDateTime.of(2024, 5, 15, 10, 0);
+        String tag = chatContextService.version(user.getId(), windowStart);
+
+        assertThat(tag).startsWith("\"").endsWith("\"");
+        assertThat(chatContextService.version(user.getId(), windowStart.plusMinutes(59))).isEqualTo(tag);
+        assertThat(chatContextService.version(user.getId(), windowStart.plusMinutes(60))).isNotEqualTo(tag);
+
+        // The month turning moves the tag even inside one window
+        ReflectionTestUtils.setField(chatContextService, "ttlMinutes", 60L * 24 * 365);
+        try {
+            LocalDateTime endOfMonth = LocalDateTime.of(2024, 5, 31, 23, 59);
+            assertThat(chatContextService.version(user.getId(), endOfMonth.minusDays(1)))
+                    .isEqualTo(chatContextService.version(user.getId(), endOfMonth));
+            assertThat(chatContextService.version(user.getId(), endOfMonth.plusMinutes(2)))
+                    .isNotEqualTo(chatContextService.version(user.getId(), endOfMonth));
+        } finally {
+            ReflectionTestUtils.setField(chatContextService, "ttlMinutes", 60L);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BudgetProgressDTO;
+import com.example.demo.dto.DashboardSummaryDTO;
+import com.example.demo.dto.GoalProgressDTO;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.GoalRepository;
+import com.example.demo.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private GoalRepository goalRepository;
+
+    @Mock
+    private RollupService rollupService;
+
+    private final DashboardService dashboardService = new DashboardService(4, 10);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(dashboardService, "transactionRepository", transactionRepository);
+        ReflectionTestUtils.setField(dashboardService, "budgetRepository", budgetRepository);
+        ReflectionTestUtils.setField(dashboardService, "goalRepository", goalRepository);
+        ReflectionTestUtils.setField(dashboardService, "rollupService", rollupService);
+        ReflectionTestUtils.setField(dashboardService, "totalsCache", new DashboardTotalsCache(100));
+        ReflectionTestUtils.setField(dashboardService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dashboardService, "deadlineMs", 300L);
+
+        when(transactionRepository.findRecentDTOsByUserId(eq(1L), any())).thenReturn(List.of(
+                new TransactionDTO(10L, 1L, new BigDecimal("12.50"), "Dining", "Lunch", "EXPENSE",
+                        LocalDateTime.of(2024, 3, 14, 12, 0), "completed", "cash")));
+        when(rollupService.getTotalsGroupedByType(1L)).thenReturn(List.of(
+                new Object[]{"INCOME", new BigDecimal("1000.00")},
+                new Object[]{"EXPENSE", new BigDecimal("400.00")}));
+        when(budgetRepository.findProgressByUserId(1L)).thenReturn(List.of(
+                new BudgetProgressDTO(5L, "Dining", "monthly", new BigDecimal("200.00"), new BigDecimal("50.00"))));
+        when(goalRepository.findProgressByUserId(1L)).thenReturn(List.of(
+                new GoalProgressDTO(7L, "Vacation Fund", new BigDecimal("3000.00"), null)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.shutdown();
+    }
+
+    @Test
+    void testSummaryIncludesAllSections() {
+        DashboardSummaryDTO summary = dashboardService.getDashboardSummary(1L);
+
+        assertThat(summary.getNetSavings()).isEqualByComparingTo("600.00");
+        assertThat(summary.getRecentTransactions()).hasSize(1);
+        assertThat(summary.getBudgets().get(0).getRemaining()).isEqualByComparingTo("150.00");
+        assertThat(summary.getBudgets().get(0).getPercentUsed()).isEqualByComparingTo("25.0");
+        assertThat(summary.getGoals().get(0).getPercentComplete()).isEqualByComparingTo("0");
+        assertThat(summary.isPartial()).isFalse();
+    }
+
+    @Test
+    void testSlowSectionIsLeftOutAtDeadline() {
+        when(goalRepository.findProgressByUserId(1L)).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return Collections.emptyList();
+        });
+
+        long start = System.nanoTime();
+        DashboardSummaryDTO summary = dashboardService.getDashboardSummary(1L);
+
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(1500);
+        assertThat(summary.getMissingSections()).containsExactly("goals");
+        assertThat(summary.isPartial()).isTrue();
+        assertThat(summary.getBudgets()).hasSize(1);
+        assertThat(summary.getTotalIncome()).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    void testFailedTotalsLeaveAmountsNull() {
+        when(rollupService.getTotalsGroupedByType(1L)).thenThrow(new RuntimeException("connection reset"));
+
+        DashboardSummaryDTO summary = dashboardService.getDashboardSummary(1L);
+
+        assertThat(summary.getMissingSections()).containsExactly("totals");
+        assertThat(summary.getTotalIncome()).isNull();
+        assertThat(summary.getNetSavings()).isNull();
+        assertThat(summary.getRecentTransactions()).hasSize(1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.service;
+
+import com.example.demo.event.TransactionChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardTotalsCacheTest {
+
+    private final DashboardTotalsCache cache = new DashboardTotalsCache(100);
+
+    @Test
+    void testSecondLookupIsHit() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, () -> {
+            loads.incrementAndGet();
+            return new DashboardTotalsCache.Totals(new BigDecimal("500.00"), new BigDecimal("200.00"));
+        });
+        DashboardTotalsCache.Totals totals = cache.get(1L, () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(totals.getIncome()).isEqualByComparingTo("500.00");
+        assertThat(cache.getStats()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        cache.get(1L, () -> new DashboardTotalsCache.Totals(BigDecimal.ONE, BigDecimal.ZERO));
+        cache.invalidate(1L);
+
+        DashboardTotalsCache.Totals totals = cache.get(1L, () -> new DashboardTotalsCache.Totals(BigDecimal.TEN, BigDecimal.ZERO));
+
+        assertThat(totals.getIncome()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    void testWriteDuringLoadDiscardsStaleTotals() {
+        cache.get(1L, () -> {
+            // A write lands while the totals are being computed
+            cache.invalidate(1L);
+            return new DashboardTotalsCache.Totals(BigDecimal.ONE, BigDecimal.ZERO);
+        });
+
+        DashboardTotalsCache.Totals totals = cache.get(1L, () -> new DashboardTotalsCache.Totals(BigDecimal.TEN, BigDecimal.ZERO));
+
+        assertThat(totals.getIncome()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    void testCommittedImportInvalidates() {
+        cache.get(1L, () -> new DashboardTotalsCache.Totals(BigDecimal.ONE, BigDecimal.ZERO));
+        cache.onTransactionChanged(TransactionChangedEvent.imported(1L));
+
+        DashboardTotalsCache.Totals totals = cache.get(1L, () -> new DashboardTotalsCache.Totals(BigDecimal.TEN, BigDecimal.ZERO));
+
+        assertThat(totals.getIncome()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    void testInvalidationsDoNotGrowTheCache() {
+        for (long userId = 1; userId <= 1000; userId++) {
+            cache.invalidate(userId);
+        }
+
+        assertThat(cache.getStats()).containsEntry("size", 0);
+    }
+
+    @Test
+    void testWriteDuringLoadIsNotLostToEviction() {
+        DashboardTotalsCache small = new DashboardTotalsCache(2);
+        small.get(1L, () -> {
+            small.invalidate(1L);
+            // Other users fill the cache while the load is still running
+            small.get(2L, () -> new DashboardTotalsCache.Totals(BigDecimal.ONE, BigDecimal.ZERO));
+            small.get(3L, () -> new DashboardTotalsCache.Totals(BigDecimal.ONE, BigDecimal.ZERO));
+            return new DashboardTotalsCache.Totals(BigDecimal.ONE, BigDecimal.ZERO);
+        });
+
+        DashboardTotalsCache.Totals totals = small.get(1L, () -> new DashboardTotalsCache.Totals(BigDecimal.TEN, BigDecimal.ZERO));
+
+        assertThat(totals.getIncome()).isEqualByComparingTo("10");
+    }
+}
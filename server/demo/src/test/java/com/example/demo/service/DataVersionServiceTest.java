@@ -0,0 +1,61 @@
+package com.example.demo.service;
+
+import com.example.demo.event.BudgetChangedEvent;
+import com.example.demo.event.GoalChangedEvent;
+import com.example.demo.event.TransactionChangedEvent;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataVersionServiceTest {
+
+    private final DataVersionService dataVersionService = new DataVersionService();
+
+    @Test
+    void testEtagChangesOnlyWithItsOwnUserAndResource() {
+        String budgets = dataVersionService.etag(1L, DataVersionService.Resource.BUDGETS);
+        String transactions = dataVersionService.etag(1L, DataVersionService.Resource.TRANSACTIONS);
+        String otherUser = dataVersionService.etag(2L, DataVersionService.Resource.BUDGETS);
+
+        dataVersionService.onBudgetChanged(BudgetChangedEvent.updated(1L, 5L));
+
+        assertThat(dataVersionService.etag(1L, DataVersionService.Resource.BUDGETS)).isNotEqualTo(budgets);
+        assertThat(dataVersionService.etag(1L, DataVersionService.Resource.TRANSACTIONS)).isEqualTo(transactions);
+        assertThat(dataVersionService.etag(2L, DataVersionService.Resource.BUDGETS)).isEqualTo(otherUser);
+        assertThat(budgets).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void testCombinedEtagFollowsEveryResource() {
+        DataVersionService.Resource[] all = DataVersionService.Resource.values();
+        String before = dataVersionService.etag(1L, all);
+
+        dataVersionService.onGoalChanged(GoalChangedEvent.updated(1L, 7L));
+        String afterGoal = dataVersionService.etag(1L, all);
+        dataVersionService.onTransactionChanged(TransactionChangedEvent.imported(1L));
+
+        assertThat(afterGoal).isNotEqualTo(before);
+        assertThat(dataVersionService.etag(1L, all)).isNotEqualTo(afterGoal);
+    }
+
+    @Test
+    void testBumpAllMovesEveryUser() {
+        String user1 = dataVersionService.etag(1L, DataVersionService.Resource.BUDGETS);
+        String user2 = dataVersionService.etag(2L, DataVersionService.Resource.BUDGETS);
+
+        dataVersionService.bumpAll();
+
+        assertThat(dataVersionService.etag(1L, DataVersionService.Resource.BUDGETS)).isNotEqualTo(user1);
+        assertThat(dataVersionService.etag(2L, DataVersionService.Resource.BUDGETS)).isNotEqualTo(user2);
+    }
+
+    @Test
+    void testEtagsDifferAcrossRestarts() {
+        String etag = dataVersionService.etag(1L, DataVersionService.Resource.GOALS);
+        DataVersionService restarted = new DataVersionService();
+
+        // Both start at version 0; the boot epoch still tells them apart
+        assertThat(restarted.etag(1L, DataVersionService.Resource.GOALS)).isNotEqualTo(etag);
+    }
+}
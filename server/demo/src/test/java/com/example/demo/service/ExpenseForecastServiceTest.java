@@ -0,0 +1,170 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ExpenseForecastDTO;
+import com.example.demo.dto.MonthlyAmountDTO;
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.User;
+import com.example.demo.repository.TransactionRollupRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExpenseForecastServiceTest {
+
+    private TransactionRollupRepository rollupRepository;
+    private ExpenseForecastService forecastService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository = mock(TransactionRollupRepository.class);
+        forecastService = new ExpenseForecastService(100);
+        ReflectionTestUtils.setField(forecastService, "rollupRepository", rollupRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(forecastService, "meterRegistry", meterRegistry);
+        forecastService.registerMetrics();
+    }
+
+    private void givenMonths(LocalDate first, double... amounts) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < amounts.length; i++) {
+            rows.add(new Object[]{first.plusMonths(i), BigDecimal.valueOf(amounts[i]), 3L});
+        }
+        when(rollupRepository.getMonthlyTotalsByType(1L, "EXPENSE")).thenReturn(rows);
+    }
+
+    private static Transaction june40() {
+        Transaction expense = new Transaction(null, new BigDecimal("40.00"), "Food", "Dinner", "EXPENSE",
+                LocalDateTime.of(2024, 6, 10, 19, 0), "completed", "card");
+        expense.setId(9L);
+        User user = new User();
+        user.setId(1L);
+        expense.setUser(user);
+        return expense;
+    }
+
+    private static List<Double> amounts(List<MonthlyAmountDTO> months) {
+        return months.stream().map(MonthlyAmountDTO::getAmount).toList();
+    }
+
+    @Test
+    void testShortHistoryRepeatsLastMonth() {
+        givenMonths(LocalDate.of(2024, 11, 1), 100.0, 250.0);
+
+        ExpenseForecastDTO forecast = forecastService.getForecast(1L);
+
+        assertThat(forecast.getModel()).isEqualTo("last-value");
+        assertThat(forecast.getPredictedNext3MonthsExpense()).extracting(MonthlyAmountDTO::getMonth)
+                .containsExactly("January 2025", "February 2025", "March 2025");
+        assertThat(amounts(forecast.getPredictedNext3MonthsExpense())).containsExactly(250.0, 250.0, 250.0);
+        assertThat(forecast.getTotalExpensePreviousMonths()).isEqualTo(350.0);
+        assertThat(forecast.getPreviousMonthsExpense()).extracting(MonthlyAmountDTO::getMonth)
+                .containsExactly("November 2024", "December 2024");
+    }
+
+    @Test
+    void testSeasonalHistoryForecastsTheYearlyPeak() {
+        // Three years of ~1000 a month with a December spike, ending in September
+        double[] history = new double[33];
+        for (int i = 0; i < history.length; i++) {
+            history[i] = (i % 12 == 11 ? 2500 : 1000) + (i % 3) * 10;
+        }
+        givenMonths(LocalDate.of(2022, 1, 1), history);
+
+        ExpenseForecastDTO forecast = forecastService.getForecast(1L);
+
+        assertThat(forecast.getModel()).isEqualTo("holt-winters");
+        List<Double> predicted = amounts(forecast.getPredictedNext3MonthsExpense());
+        assertThat(forecast.getPredictedNext3MonthsExpense().get(2).getMonth()).isEqualTo("December 2024");
+        assertThat(predicted.get(0)).isBetween(800.0, 1200.0);
+        assertThat(predicted.get(2)).isGreaterThan(2000.0);
+    }
+
+    @Test
+    void testHistoryBeforeADormantStretchIsNotModelled() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{LocalDate.of(2023, 3, 1), new BigDecimal("9.99"), 1L});
+        for (int i = 0; i < 24; i++) {
+            rows.add(new Object[]{LocalDate.of(2024, 1, 1).plusMonths(i), new BigDecimal("2000.00"), 3L});
+        }
+        when(rollupRepository.getMonthlyTotalsByType(1L, "EXPENSE")).thenReturn(rows);
+
+        ExpenseForecastDTO forecast = forecastService.getForecast(1L);
+
+        // The stray month is still reported, but its zero-filled gap does not read as a steep trend
+        assertThat(forecast.getPreviousMonthsExpense()).hasSize(25);
+        assertThat(amounts(forecast.getPredictedNext3MonthsExpense())).allSatisfy(
+                amount -> assertThat(amount).isBetween(1900.0, 2100.0));
+    }
+
+    @Test
+    void testCommittedExpensesReloadTheSeries() {
+        givenMonths(LocalDate.of(2024, 1, 1), 100.0, 100.0, 100.0, 100.0, 100.0);
+        assertThat(forecastService.getForecast(1L).getModel()).isEqualTo("holt");
+
+        forecastService.onTransactionChanged(TransactionChangedEvent.of(TransactionChangedEvent.Kind.CREATED, june40()));
+
+        givenMonths(LocalDate.of(2024, 1, 1), 100.0, 100.0, 100.0, 100.0, 100.0, 40.0);
+        ExpenseForecastDTO forecast = forecastService.getForecast(1L);
+        assertThat(forecast.getPreviousMonthsExpense()).hasSize(6);
+        assertThat(forecast.getPreviousMonthsExpense().get(5).getMonth()).isEqualTo("June 2024");
+        assertThat(forecast.getTotalExpensePreviousMonths()).isEqualTo(540.0);
+        assertThat(forecast.getPredictedNext3MonthsExpense().get(0).getMonth()).isEqualTo("July 2024");
+        verify(rollupRepository, times(2)).getMonthlyTotalsByType(1L, "EXPENSE");
+
+        forecastService.onTransactionChanged(TransactionChangedEvent.imported(1L));
+        forecastService.getForecast(1L);
+        verify(rollupRepository, times(3)).getMonthlyTotalsByType(1L, "EXPENSE");
+    }
+
+    @Test
+    void testLoadBetweenCommitAndEventDoesNotCountTheExpenseTwice() {
+        // The expense is committed, so the rollups already include it when a read loads the series...
+        givenMonths(LocalDate.of(2024, 1, 1), 100.0, 100.0, 100.0, 100.0, 100.0, 40.0);
+        assertThat(forecastService.getForecast(1L).getTotalExpensePreviousMonths()).isEqualTo(540.0);
+
+        // ...and only then does its after-commit event arrive
+        forecastService.onTransactionChanged(TransactionChangedEvent.of(TransactionChangedEvent.Kind.CREATED, june40()));
+
+        assertThat(forecastService.getForecast(1L).getTotalExpensePreviousMonths()).isEqualTo(540.0);
+        verify(rollupRepository, times(2)).getMonthlyTotalsByType(1L, "EXPENSE");
+    }
+
+    @Test
+    void testUndatedExpensesKeepTheSeries() {
+        givenMonths(LocalDate.of(2024, 1, 1), 100.0, 100.0, 100.0);
+        forecastService.getForecast(1L);
+
+        Transaction expense = june40();
+        expense.setDate(null);
+        forecastService.onTransactionChanged(TransactionChangedEvent.of(TransactionChangedEvent.Kind.CREATED, expense));
+        forecastService.getForecast(1L);
+
+        verify(rollupRepository, times(1)).getMonthlyTotalsByType(1L, "EXPENSE");
+    }
+
+    @Test
+    void testChangesForUsersWithoutASeriesAreNotCached() {
+        for (long userId = 1; userId <= 100; userId++) {
+            forecastService.onTransactionChanged(TransactionChangedEvent.imported(userId));
+        }
+
+        assertThat(meterRegistry.get("app.forecast.cache.size").gauge().value()).isEqualTo(0.0);
+        assertThat(meterRegistry.get("app.forecast.cache.invalidations").functionCounter().count()).isEqualTo(100.0);
+    }
+}
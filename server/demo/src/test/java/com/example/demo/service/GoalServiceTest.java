@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -25,6 +26,9 @@ class GoalServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private GoalService goalService;
 
@@ -60,12 +64,20 @@ class GoalServiceTest {
     void testUpdateSavedAmount() {
         Goal goal = new Goal(user, "Vacation Fund", BigDecimal.valueOf(2000));
         goal.setId(1L);
+        goal.setSavedAmount(BigDecimal.valueOf(500));
 
+        when(goalRepository.incrementSavedAmount(1L, BigDecimal.valueOf(500))).thenReturn(1);
         when(goalRepository.findById(1L)).thenReturn(Optional.of(goal));
-        when(goalRepository.save(any(Goal.class))).thenReturn(goal);
 
         Goal updatedGoal = goalService.updateSavedAmount(1L, BigDecimal.valueOf(500));
         assertEquals(BigDecimal.valueOf(500), updatedGoal.getSavedAmount());
+        verify(goalRepository, never()).save(any(Goal.class));
+    }
+
+    @Test
+    void testUpdateSavedAmountMissingGoal() {
+        when(goalRepository.incrementSavedAmount(99L, BigDecimal.ONE)).thenReturn(0);
+        assertThrows(RuntimeException.class, () -> goalService.updateSavedAmount(99L, BigDecimal.ONE));
     }
 
     @Test
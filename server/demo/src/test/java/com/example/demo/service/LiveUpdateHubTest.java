@@ -0,0 +1,121 @@
+package com.example.demo.service;
+
+import com.example.demo.controller.LiveUpdateController;
+import com.example.demo.event.BudgetChangedEvent;
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class LiveUpdateHubTest {
+
+    private LiveUpdateHub hub;
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        hub = new LiveUpdateHub(1);
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(hub, "meterRegistry", meterRegistry);
+        hub.registerMetrics();
+        UserService userService = mock(UserService.class);
+        when(userService.getCurrentUserId(any())).thenReturn(1L);
+        LiveUpdateController controller = new LiveUpdateController();
+        ReflectionTestUtils.setField(controller, "liveUpdateHub", hub);
+        ReflectionTestUtils.setField(controller, "userService", userService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    private MockHttpServletResponse connect() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        awaitContent(response, "event:ready");
+        return response;
+    }
+
+    private static TransactionChangedEvent event(TransactionChangedEvent.Kind kind, long userId, long id, String status) {
+        Transaction transaction = new Transaction(null, new BigDecimal("10.00"), "Food", "Lunch", "EXPENSE",
+                LocalDateTime.of(2024, 3, 1, 12, 0), status, "cash");
+        transaction.setId(id);
+        User user = new User();
+        user.setId(userId);
+        transaction.setUser(user);
+        return TransactionChangedEvent.of(kind, transaction);
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        for (int i = 0; i < 100 && !response.getContentAsString().contains(expected); i++) {
+            Thread.sleep(20);
+        }
+        assertThat(response.getContentAsString()).contains(expected);
+        return response.getContentAsString();
+    }
+
+    @Test
+    void testBurstIsSentAsOneEventWithLatestChangePerRow() throws Exception {
+        MockHttpServletResponse response = connect();
+
+        hub.onTransactionChanged(event(TransactionChangedEvent.Kind.CREATED, 1L, 100L, "pending"));
+        hub.onTransactionChanged(event(TransactionChangedEvent.Kind.CREATED, 1L, 101L, "completed"));
+        hub.onTransactionChanged(event(TransactionChangedEvent.Kind.STATUS_CHANGED, 1L, 100L, "completed"));
+        hub.onBudgetChanged(BudgetChangedEvent.spent(1L, null));
+        hub.onBudgetChanged(BudgetChangedEvent.spent(1L, null));
+        hub.flush();
+
+        String content = awaitContent(response, "\"budgets\"");
+        assertThat(content.split("event:changes", -1)).hasSize(2);
+        assertThat(content).contains("\"kind\":\"STATUS_CHANGED\",\"id\":100");
+        assertThat(content).doesNotContain("\"kind\":\"CREATED\",\"id\":100");
+        assertThat(content).contains("\"budgets\":[{\"kind\":\"SPENT\",\"budgetId\":null}]");
+    }
+
+    @Test
+    void testLargeBurstAsksForReload() throws Exception {
+        MockHttpServletResponse response = connect();
+
+        for (long id = 1; id <= 150; id++) {
+            hub.onTransactionChanged(event(TransactionChangedEvent.Kind.CREATED, 1L, id, "completed"));
+        }
+        hub.flush();
+
+        String content = awaitContent(response, "\"budgets\"");
+        assertThat(content).contains("\"transactions\":[],\"reloadTransactions\":true");
+    }
+
+    @Test
+    void testChangesOfUsersWithoutConnectionsAreNotKept() throws Exception {
+        connect();
+
+        hub.onTransactionChanged(event(TransactionChangedEvent.Kind.CREATED, 2L, 200L, "completed"));
+        hub.onBudgetChanged(BudgetChangedEvent.reset(2L, 7L));
+
+        assertThat(meterRegistry.get("app.live.connections").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("app.live.pending_users").gauge().value()).isEqualTo(0.0);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Transaction;
+import com.example.demo.model.User;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.TransactionRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RollupServiceTest {
+
+    @Mock
+    private TransactionRollupRepository rollupRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private RollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testRecordNegatesDeletes() {
+        User user = new User();
+        user.setId(1L);
+        Transaction transaction = new Transaction(user, new BigDecimal("40.00"), null, "Taxi", "EXPENSE",
+                LocalDateTime.of(2024, 3, 14, 9, 30), "completed", "cash");
+
+        rollupService.record(transaction, -1);
+
+        verify(rollupRepository).upsertDelta(1L, "EXPENSE", "", LocalDate.of(2024, 3, 1), new BigDecimal("-40.00"), -1);
+    }
+
+    @Test
+    void testSumRange_WholeMonthsComeFromRollups() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = LocalDate.of(2024, 3, 31).atTime(23, 59, 59, 999_999_999);
+        when(rollupRepository.sumPeriods(1L, "EXPENSE", null, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 1)))
+                .thenReturn(new BigDecimal("300.00"));
+
+        BigDecimal total = rollupService.sumRange(1L, "EXPENSE", null, start, end);
+
+        assertThat(total).isEqualByComparingTo("300.00");
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void testSumRange_PartialEdgeMonthsComeFromRawRows() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 4, 10, 12, 0);
+        when(rollupRepository.sumPeriods(1L, null, "Food", LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1)))
+                .thenReturn(new BigDecimal("200.00"));
+        when(transactionRepository.getTotalByTypeCategoryInHalfOpenRange(1L, null, "Food", start,
+                LocalDateTime.of(2024, 2, 1, 0, 0))).thenReturn(new BigDecimal("15.00"));
+        when(transactionRepository.getTotalByTypeCategoryAndDateRange(1L, null, "Food",
+                LocalDateTime.of(2024, 4, 1, 0, 0), end)).thenReturn(new BigDecimal("5.00"));
+
+        BigDecimal total = rollupService.sumRange(1L, null, "Food", start, end);
+
+        assertThat(total).isEqualByComparingTo("220.00");
+    }
+
+    @Test
+    void testSumRange_WithinOneMonthUsesRawRows() {
+        LocalDateTime start = LocalDateTime.of(2024, 5, 3, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 5, 20, 0, 0);
+        when(transactionRepository.getTotalByTypeCategoryAndDateRange(1L, "INCOME", null, start, end))
+                .thenReturn(new BigDecimal("42.00"));
+
+        assertThat(rollupService.sumRange(1L, "INCOME", null, start, end)).isEqualByComparingTo("42.00");
+        verify(rollupRepository, never()).sumPeriods(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testVerifyUser_ReportsDrift() {
+        when(transactionRepository.aggregateMonthlyByUserId(1L)).thenReturn(Collections.singletonList(
+                new Object[]{"EXPENSE", "Food", 2024, 3, new BigDecimal("90.00"), 3L}));
+        when(rollupRepository.findByUserId(1L)).thenReturn(List.of());
+
+        List<String> mismatches = rollupService.verifyUser(1L);
+
+        assertThat(mismatches).hasSize(1);
+        assertThat(mismatches.get(0)).contains("expected=90.00/3");
+    }
+
+    @Test
+    void testRebuildUser_MergesNullAndEmptyCategories() {
+        when(transactionRepository.aggregateMonthlyByUserId(1L)).thenReturn(Arrays.asList(
+                new Object[]{"EXPENSE", null, 2024, 3, new BigDecimal("10.00"), 1L},
+                new Object[]{"EXPENSE", "", 2024, 3, new BigDecimal("5.00"), 2L}));
+
+        int buckets = rollupService.rebuildUser(1L);
+
+        assertThat(buckets).isEqualTo(1);
+        verify(rollupRepository).deleteByUserId(1L);
+    }
+}
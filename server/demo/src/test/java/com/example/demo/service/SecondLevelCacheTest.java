@@ -0,0 +1,136 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Budget;
+import com.example.demo.model.Goal;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.User;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.GoalRepository;
+import com.example.demo.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true",
+        "spring.jpa.show-sql=false",
+        // The statement counts are global; background jobs (the budget posting flush) would add to them
+        "scheduling.enabled=false"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        return userService.registerUser(user);
+    }
+
+    @Test
+    void testUserLookupIsCachedUntilUsersChange() {
+        // registerUser's own lookup caches the empty result; the insert must invalidate it
+        User registered = newUser("cached");
+        assertThat(userRepository.findByUsername("cached")).isPresent();
+
+        statistics.clear();
+        userService.findByUsername("cached");
+        userService.findByUsername("cached");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+
+        registered.setEmail("changed@example.com");
+        userService.saveUser(registered);
+
+        assertThat(userService.findByUsername("cached").getEmail()).isEqualTo("changed@example.com");
+    }
+
+    @Test
+    void testTransactionWritesLeaveUserCacheWarm() {
+        User user = newUser("writer");
+        userService.findByUsername("writer");
+
+        Transaction transaction = new Transaction(null, new BigDecimal("12.00"), "Dining", "Lunch", "EXPENSE",
+                LocalDateTime.now(), "completed", "cash");
+        transactionService.addTransaction(transaction, userService.getUserReference(user.getId()));
+
+        // The rollup upsert is native SQL; it must only invalidate its own table
+        statistics.clear();
+        userService.findByUsername("writer");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void testBulkIncrementsInvalidateCachedBudgetsAndGoals() {
+        User user = newUser("increments");
+        Budget budget = new Budget();
+        budget.setCategory("Dining");
+        budget.setAmount(new BigDecimal("200.00"));
+        budget.setBudgetType("monthly");
+        budget.setLastResetDate(LocalDate.now().withDayOfMonth(1));
+        budget = budgetService.saveBudget(user.getId(), budget);
+        Goal goal = goalService.createGoal(user.getId(), new Goal(null, "Vacation Fund", new BigDecimal("1000.00")));
+
+        budgetRepository.findByUserId(user.getId());
+        goalRepository.findByUserId(user.getId());
+        statistics.clear();
+        assertThat(budgetRepository.findByUserId(user.getId()).get(0).getSpentAmount()).isEqualByComparingTo("0");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        budgetService.addToSpentAmount(user.getId(), budget.getId(), new BigDecimal("25.00"));
+        goalService.updateSavedAmount(goal.getId(), new BigDecimal("40.00"));
+
+        assertThat(budgetRepository.findByUserId(user.getId()).get(0).getSpentAmount()).isEqualByComparingTo("25.00");
+        assertThat(goalRepository.findByUserId(user.getId()).get(0).getSavedAmount()).isEqualByComparingTo("40.00");
+        assertThat(budgetRepository.findById(budget.getId()).orElseThrow().getSpentAmount()).isEqualByComparingTo("25.00");
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Budget;
+import com.example.demo.model.Goal;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.User;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.GoalRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrency;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=16",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true",
+        "spring.jpa.show-sql=false"
+})
+class SpentAmountConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int INCREMENTS = 2000;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetPostingService budgetPostingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    private User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        return userRepository.save(user);
+    }
+
+    @Test
+    void testParallelIncrementsAddUpExactly() throws Exception {
+        User user = newUser("concurrency");
+        Long userId = user.getId();
+
+        Budget budget = budgetService.saveBudget(userId, new Budget(user, "Groceries", new BigDecimal("10000.00"), null, "monthly"));
+        Goal goal = goalService.createGoal(userId, new Goal(user, "Vacation Fund", new BigDecimal("5000.00")));
+        Long budgetId = budget.getId();
+        Long goalId = goal.getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < INCREMENTS; i++) {
+                futures.add(pool.submit(() -> budgetService.addToSpentAmount(userId, budgetId, new BigDecimal("1.25"))));
+                futures.add(pool.submit(() -> goalService.updateSavedAmount(goalId, new BigDecimal("0.50"))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Budget storedBudget = budgetRepository.findById(budgetId).orElseThrow();
+        Goal storedGoal = goalRepository.findById(goalId).orElseThrow();
+        assertThat(storedBudget.getSpentAmount()).isEqualByComparingTo("2500.00");
+        assertThat(storedBudget.getVersion()).isEqualTo(budget.getVersion() + INCREMENTS);
+        assertThat(storedGoal.getSavedAmount()).isEqualByComparingTo("1000.00");
+        assertThat(storedGoal.getVersion()).isEqualTo(goal.getVersion() + INCREMENTS);
+    }
+
+    @Test
+    void testExpensesPostToMatchingBudget() {
+        User user = newUser("posting");
+        Long userId = user.getId();
+        Budget food = budgetService.saveBudget(userId, new Budget(user, "Food", new BigDecimal("1000.00"), null, "monthly"));
+        Budget travel = budgetService.saveBudget(userId, new Budget(user, "Travel", new BigDecimal("1000.00"), null, "yearly"));
+        LocalDateTime now = LocalDateTime.now();
+
+        // Sequential inserts: H2's identity generation is not reliable under concurrent inserts
+        for (int i = 0; i < 500; i++) {
+            transactionService.addTransaction(
+                    new Transaction(null, new BigDecimal("2.00"), "Food", null, "EXPENSE", now, "completed", "cash"), user);
+        }
+        // Different category, income, and last period's expense must all be ignored
+        transactionService.addTransaction(
+                new Transaction(null, new BigDecimal("99.00"), "Travel", null, "INCOME", now, "completed", "cash"), user);
+        transactionService.addTransaction(
+                new Transaction(null, new BigDecimal("99.00"), "Food", null, "EXPENSE", now.minusYears(1), "completed", "cash"), user);
+        budgetPostingService.flush();
+
+        assertThat(budgetRepository.findById(food.getId()).orElseThrow().getSpentAmount()).isEqualByComparingTo("1000.00");
+        assertThat(budgetRepository.findById(travel.getId()).orElseThrow().getSpentAmount()).isEqualByComparingTo("0");
+        // Incremental postings and a full recompute agree
+        assertThat(budgetPostingService.reconcileUser(userId)).isZero();
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BudgetDTO;
+import com.example.demo.dto.GoalProgressDTO;
+import com.example.demo.dto.SyncResponseDTO;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.model.Budget;
+import com.example.demo.model.Goal;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.User;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sync;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class SyncServiceTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private GoalService goalService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // Entries are visible to sync as soon as they commit
+        ReflectionTestUtils.setField(syncService, "safetyLagMs", 0L);
+        user = new User();
+        user.setUsername("sync" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPassword("secret");
+        user = userService.registerUser(user);
+    }
+
+    private Transaction addTransaction(String amount) {
+        Transaction transaction = new Transaction(null, new BigDecimal(amount), "Books", "Novel", "EXPENSE",
+                LocalDateTime.now(), "completed", "cash");
+        return transactionService.addTransaction(transaction, userService.getUserReference(user.getId()));
+    }
+
+    @Test
+    void testDeltaContainsOnlyChangesSinceToken() {
+        Transaction before = addTransaction("10.00");
+        SyncResponseDTO full = syncService.getChanges(user.getId(), null);
+        assertThat(full.isFull()).isTrue();
+        assertThat(full.getTransactions()).extracting(TransactionDTO::getId).containsExactly(before.getId());
+
+        Transaction added = addTransaction("20.00");
+        Budget budget = new Budget();
+        budget.setCategory("Travel");
+        budget.setAmount(new BigDecimal("300.00"));
+        budget.setBudgetType("monthly");
+        budget = budgetService.saveBudget(user.getId(), budget);
+        Goal goal = goalService.createGoal(user.getId(), new Goal(null, "Bike", new BigDecimal("800.00")));
+
+        SyncResponseDTO delta = syncService.getChanges(user.getId(), full.getSyncToken());
+        assertThat(delta.isFull()).isFalse();
+        assertThat(delta.getTransactions()).extracting(TransactionDTO::getId).containsExactly(added.getId());
+        assertThat(delta.getBudgets()).extracting(BudgetDTO::getId).containsExactly(budget.getId());
+        assertThat(delta.getGoals()).extracting(GoalProgressDTO::getId).containsExactly(goal.getId());
+        assertThat(delta.getSyncToken()).isGreaterThan(full.getSyncToken());
+
+        SyncResponseDTO unchanged = syncService.getChanges(user.getId(), delta.getSyncToken());
+        assertThat(unchanged.getTransactions()).isEmpty();
+        assertThat(unchanged.getBudgets()).isEmpty();
+        assertThat(unchanged.getGoals()).isEmpty();
+    }
+
+    @Test
+    void testDeletionsArriveAsTombstones() {
+        Transaction transaction = addTransaction("15.00");
+        Goal goal = goalService.createGoal(user.getId(), new Goal(null, "Laptop", new BigDecimal("1500.00")));
+        long token = syncService.getChanges(user.getId(), null).getSyncToken();
+
+        transactionService.deleteTransaction(transaction.getId());
+        goalService.deleteGoal(goal.getId());
+
+        SyncResponseDTO delta = syncService.getChanges(user.getId(), token);
+        assertThat(delta.getTransactions()).isEmpty();
+        assertThat(delta.getDeletedTransactionIds()).containsExactly(transaction.getId());
+        assertThat(delta.getDeletedGoalIds()).containsExactly(goal.getId());
+    }
+
+    @Test
+    void testEveryBudgetWriteIsLogged() {
+        Budget budget = new Budget();
+        budget.setCategory("Food");
+        budget.setAmount(new BigDecimal("200.00"));
+        budget.setBudgetType("monthly");
+        budget = budgetService.saveBudget(user.getId(), budget);
+
+        long token = syncService.getChanges(user.getId(), null).getSyncToken();
+        budgetService.updateSpentAmount(user.getId(), budget.getId(), new BigDecimal("50.00"));
+        SyncResponseDTO spent = syncService.getChanges(user.getId(), token);
+        assertThat(spent.getBudgets()).extracting(BudgetDTO::getId).containsExactly(budget.getId());
+
+        budgetService.forceResetBudget(user.getId(), budget.getId());
+        SyncResponseDTO reset = syncService.getChanges(user.getId(), spent.getSyncToken());
+        assertThat(reset.getBudgets()).extracting(BudgetDTO::getId).containsExactly(budget.getId());
+
+        budgetService.deleteBudget(user.getId(), budget.getId());
+        SyncResponseDTO deleted = syncService.getChanges(user.getId(), reset.getSyncToken());
+        assertThat(deleted.getBudgets()).isEmpty();
+        assertThat(deleted.getDeletedBudgetIds()).containsExactly(budget.getId());
+    }
+
+    @Test
+    void testImportedRowsAreLoggedIndividually() throws Exception {
+        long token = syncService.getChanges(user.getId(), null).getSyncToken();
+        String csv = "date,amount,description,category\n" +
+                "2024-03-01,-12.50,Coffee,Dining\n" +
+                "2024-03-02,-40.00,Groceries,Food\n";
+
+        transactionImportService.importTransactions(user.getId(),
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "csv");
+
+        SyncResponseDTO delta = syncService.getChanges(user.getId(), token);
+        assertThat(delta.getTransactions()).extracting(TransactionDTO::getDescription)
+                .containsExactlyInAnyOrder("Coffee", "Groceries");
+    }
+
+    @Test
+    void testTokenOlderThanRetainedLogGetsFullState() {
+        addTransaction("5.00");
+        long token = syncService.getChanges(user.getId(), null).getSyncToken();
+        addTransaction("6.00");
+        addTransaction("7.00");
+
+        // Purges everything but the newest entry, which is always kept
+        changeLogService.purgeOlderThan(LocalDateTime.now().plusMinutes(1), 1);
+
+        SyncResponseDTO response = syncService.getChanges(user.getId(), token);
+        assertThat(response.isFull()).isTrue();
+        assertThat(response.getTransactions()).hasSize(3);
+    }
+}
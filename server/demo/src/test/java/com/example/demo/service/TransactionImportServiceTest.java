@@ -0,0 +1,36 @@
+package com.example.demo.service;
+
+import com.example.demo.importer.ImportRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionImportServiceTest {
+
+    private ImportRow row(String amount, String type) {
+        ImportRow row = new ImportRow(1);
+        row.setDate(LocalDateTime.of(2024, 3, 1, 0, 0));
+        row.setAmount(new BigDecimal(amount));
+        row.setType(type);
+        return row;
+    }
+
+    @Test
+    void testValidate_SignDecidesMissingType() {
+        ImportRow row = row("-15.00", null);
+
+        assertThat(TransactionImportService.validate(row)).isNull();
+        assertThat(row.getType()).isEqualTo("EXPENSE");
+        assertThat(row.getAmount()).isEqualByComparingTo("15.00");
+        assertThat(row.getStatus()).isEqualTo("completed");
+    }
+
+    @Test
+    void testValidate_RejectsUnknownTypeAndZeroAmount() {
+        assertThat(TransactionImportService.validate(row("10.00", "TRANSFER"))).contains("Invalid transaction type");
+        assertThat(TransactionImportService.validate(row("0", "INCOME"))).isEqualTo("Amount must be non-zero");
+    }
+}
@@ -1,19 +1,24 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.dto.TransactionPageDTO;
+import com.example.demo.event.TransactionChangedEvent;
 import com.example.demo.model.Transaction;
 import com.example.demo.model.User;
 import com.example.demo.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,6 +30,12 @@ class TransactionServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private RollupService rollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -52,7 +63,7 @@ class TransactionServiceTest {
 
     @Test
     void testGetTotalAmountByType_Valid() {
-        when(transactionRepository.getTotalAmountByType(1L, "EXPENSE")).thenReturn(new BigDecimal("100.00"));
+        when(rollupService.sumAllTime(1L, "EXPENSE", null)).thenReturn(new BigDecimal("100.00"));
 
         BigDecimal result = transactionService.getTotalAmountByType(1L, "EXPENSE");
 
@@ -66,8 +77,8 @@ class TransactionServiceTest {
 
     @Test
     void testGetRecentTransactions() {
-        when(transactionRepository.findRecentTransactionsByUserId(1L, PageRequest.of(0, 5)))
-                .thenReturn(new PageImpl<>(Arrays.asList(transaction)));
+        when(transactionRepository.findRecentDTOsByUserId(1L, PageRequest.of(0, 5)))
+                .thenReturn(Arrays.asList(TransactionDTO.from(transaction)));
 
         assertThat(transactionService.getRecentTransactions(1L, 5)).hasSize(1);
     }
@@ -80,6 +91,13 @@ class TransactionServiceTest {
 
         assertThat(saved.getUser().getUsername()).isEqualTo("testUser");
         verify(transactionRepository, times(1)).save(transaction);
+        verify(rollupService).record(transaction, 1);
+
+        ArgumentCaptor<TransactionChangedEvent> event = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getKind()).isEqualTo(TransactionChangedEvent.Kind.CREATED);
+        assertThat(event.getValue().getUserId()).isEqualTo(1L);
+        assertThat(event.getValue().getAmount()).isEqualByComparingTo("100.00");
     }
 
     @Test
@@ -101,10 +119,47 @@ class TransactionServiceTest {
 
     @Test
     void testGetTotalExpensesByCategory() {
-        when(transactionRepository.getTotalExpensesByCategory(1L, "Food")).thenReturn(new BigDecimal("75.00"));
+        when(rollupService.sumAllTime(1L, "EXPENSE", "Food")).thenReturn(new BigDecimal("75.00"));
 
         BigDecimal total = transactionService.getTotalExpensesByCategory(1L, "Food");
 
         assertThat(total).isEqualByComparingTo("75.00");
     }
+
+    @Test
+    void testGetTransactionPage_HasMore() {
+        Transaction older = new Transaction(user, new BigDecimal("20.00"), "Food", "Lunch", "EXPENSE",
+                transaction.getDate().minusDays(1), "completed", "cash");
+        older.setId(2L);
+
+        when(transactionRepository.findPageByUserId(1L, "EXPENSE", null, null, null, null, null, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(TransactionDTO.from(transaction), TransactionDTO.from(older)));
+
+        TransactionPageDTO page = transactionService.getTransactionPage(1L, null, 1, "expense", null, null, null);
+
+        assertThat(page.getTransactions()).hasSize(1);
+        assertThat(page.isHasMore()).isTrue();
+        String[] cursor = TransactionService.decodeCursor(page.getNextCursor());
+        assertThat(cursor[0]).isEqualTo(transaction.getDate().toString());
+        assertThat(cursor[1]).isEqualTo("1");
+    }
+
+    @Test
+    void testGetTransactionPage_FollowsCursor() {
+        String cursor = TransactionService.encodeCursor(transaction.getDate(), 1L);
+        when(transactionRepository.findPageByUserId(1L, null, null, null, null, transaction.getDate(), 1L, PageRequest.of(0, 11)))
+                .thenReturn(List.of());
+
+        TransactionPageDTO page = transactionService.getTransactionPage(1L, cursor, 10, null, null, null, null);
+
+        assertThat(page.getTransactions()).isEmpty();
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testGetTransactionPage_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.getTransactionPage(1L, "not-a-cursor", 10, null, null, null, null));
+    }
 }
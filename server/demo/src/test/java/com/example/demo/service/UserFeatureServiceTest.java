@@ -0,0 +1,138 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.FeaturePageDTO;
+import com.example.demo.dto.MonthlyFeatureDTO;
+import com.example.demo.dto.UserFeaturesDTO;
+import com.example.demo.model.User;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:features;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "features.partition-users=2"
+})
+class UserFeatureServiceTest {
+
+    @Autowired
+    private UserFeatureService userFeatureService;
+
+    @Autowired
+    private UserFeatureJob userFeatureJob;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User saver;
+    private User spender;
+
+    @BeforeEach
+    void setUp() {
+        // Each rebuild covers every user, so earlier tests' transactions would count too
+        jdbcTemplate.update("DELETE FROM transaction");
+        saver = register("saver");
+        spender = register("spender");
+    }
+
+    private User register(String prefix) {
+        User user = new User();
+        user.setUsername(prefix + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPassword("secret");
+        return userService.registerUser(user);
+    }
+
+    private void insert(User user, String type, String category, String amount, LocalDateTime date) {
+        jdbcTemplate.update("INSERT INTO transaction (user_id, amount, category, description, type, date, status, " +
+                        "payment_method) VALUES (?, ?, ?, 'Entry', ?, ?, 'completed', 'card')",
+                user.getId(), new BigDecimal(amount), category, type, date);
+    }
+
+    private static LocalDateTime monthsAgo(int months) {
+        return YearMonth.now().minusMonths(months).atDay(10).atTime(12, 0);
+    }
+
+    @Test
+    void testMonthlyFeaturesFromOneRangeScan() {
+        for (int back = 3; back >= 1; back--) {
+            insert(saver, "EXPENSE", "Rent", "1000.00", monthsAgo(back));
+        }
+        insert(saver, "EXPENSE", "Groceries", "50.00", monthsAgo(2));
+        insert(saver, "EXPENSE", "Groceries", "70.00", monthsAgo(1));
+        insert(saver, "INCOME", "Salary", "3000.00", monthsAgo(1));
+        // Outside the feature window and without a date: neither shows up
+        insert(saver, "EXPENSE", "Rent", "900.00", monthsAgo(60));
+        insert(saver, "EXPENSE", "Rent", "900.00", null);
+
+        assertThat(userFeatureJob.rebuildAll()).containsEntry("users", 1);
+
+        FeaturePageDTO page = userFeatureService.getPage(saver.getId() - 1, 10);
+        assertThat(page.getUsers()).extracting(UserFeaturesDTO::getUserId).containsExactly(saver.getId());
+        assertThat(page.getUsers().get(0).getMonths()).extracting(MonthlyFeatureDTO::getMonth).containsExactly(
+                YearMonth.now().minusMonths(3).toString(), YearMonth.now().minusMonths(2).toString(),
+                YearMonth.now().minusMonths(1).toString());
+
+        MonthlyFeatureDTO first = page.getUsers().get(0).getMonths().get(0);
+        // One 1000 month among six: mean 166.67, deviation sqrt((833.33^2 + 5 * 166.67^2) / 6)
+        assertThat(first.getExpenseVolatility().doubleValue()).isCloseTo(372.68, within(0.01));
+        assertThat(first.getRecurringCount()).isZero();
+
+        MonthlyFeatureDTO last = page.getUsers().get(0).getMonths().get(2);
+        assertThat(last.getIncome()).isEqualByComparingTo("3000.00");
+        assertThat(last.getExpense()).isEqualByComparingTo("1070.00");
+        assertThat(last.getTransactionCount()).isEqualTo(3);
+        // Rent at the same amount three months running; groceries changed amount
+        assertThat(last.getRecurringCount()).isEqualTo(1);
+        assertThat(last.getCategorySpend()).containsOnlyKeys("Groceries", "Rent");
+        assertThat(last.getCategorySpend().get("Rent")).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    void testRebuildReplacesFeaturesAndPagesByUser() {
+        insert(saver, "EXPENSE", "Books", "20.00", monthsAgo(2));
+        insert(spender, "EXPENSE", "Travel", "400.00", monthsAgo(4));
+        insert(spender, "EXPENSE", "Travel", "100.00", monthsAgo(1));
+        userFeatureJob.rebuildAll();
+
+        jdbcTemplate.update("DELETE FROM transaction WHERE user_id = ?", saver.getId());
+        insert(saver, "INCOME", "Salary", "2500.00", monthsAgo(1));
+        userFeatureJob.rebuildAll();
+
+        FeaturePageDTO first = userFeatureService.getPage(saver.getId() - 1, 1);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getNextCursor()).isEqualTo(saver.getId());
+        assertThat(first.getUsers().get(0).getMonths()).singleElement().satisfies(month -> {
+            assertThat(month.getIncome()).isEqualByComparingTo("2500.00");
+            assertThat(month.getCategorySpend()).isEmpty();
+        });
+
+        FeaturePageDTO second = userFeatureService.getPage(first.getNextCursor(), 1);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        UserFeaturesDTO features = second.getUsers().get(0);
+        assertThat(features.getUserId()).isEqualTo(spender.getId());
+        // The two months between trips are present with zeros
+        assertThat(features.getMonths()).hasSize(4);
+        assertThat(features.getMonths().get(1).getExpense()).isEqualByComparingTo("0");
+        assertThat(features.getMonths().get(3).getCategorySpend()).isEqualTo(Map.of("Travel", new BigDecimal("100.00")));
+    }
+}
@@ -2,13 +2,17 @@ package com.example.demo.service;
 
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -82,4 +86,47 @@ class UserServiceTest {
 
         assertThat(userService.getAllUsers()).hasSize(2);
     }
+
+    @Test
+    void testGetCurrentUserId_FromPrincipalWithoutQuery() {
+        UserPrincipal principal = new UserPrincipal(7L, "john", List.of());
+
+        Long userId = userService.getCurrentUserId(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+
+        assertThat(userId).isEqualTo(7L);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testGetCurrentUserId_LegacyTokenFallsBackToLookup() {
+        User user = new User();
+        user.setId(3L);
+        user.setUsername("john");
+        when(userRepository.findByUsername("john")).thenReturn(Optional.of(user));
+
+        Long userId = userService.getCurrentUserId(new UsernamePasswordAuthenticationToken("john", null, List.of()));
+
+        assertThat(userId).isEqualTo(3L);
+    }
+
+    @Test
+    void testGetUserReference_UsesRepositoryProxy() {
+        User reference = new User();
+        reference.setId(5L);
+        when(userRepository.getReferenceById(5L)).thenReturn(reference);
+
+        assertThat(userService.getUserReference(5L)).isSameAs(reference);
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testIsService_OnlyForServiceRole() {
+        UserPrincipal service = new UserPrincipal(1L, "ml", List.of(UserPrincipal.SERVICE_ROLE));
+        UserPrincipal user = new UserPrincipal(2L, "john", List.of("USER"));
+
+        assertThat(userService.isService(new UsernamePasswordAuthenticationToken(service, null,
+                List.of(new SimpleGrantedAuthority("ROLE_SERVICE"))))).isTrue();
+        assertThat(userService.isService(new UsernamePasswordAuthenticationToken(user, null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))))).isFalse();
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.demo.util;
+
+import com.example.demo.model.User;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtUtilTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil(100);
+
+    @Test
+    void testParseTokenReturnsSubjectAndExpiry() {
+        String token = jwtUtil.generateToken("testUser");
+
+        VerifiedToken verified = jwtUtil.parseToken(token);
+
+        assertThat(verified.getSubject()).isEqualTo("testUser");
+        assertThat(verified.getExpiration()).isInTheFuture();
+        assertThat(jwtUtil.validateToken(token, "testUser")).isTrue();
+    }
+
+    @Test
+    void testRepeatParsesHitCache() {
+        String token = jwtUtil.generateToken("testUser");
+
+        jwtUtil.parseToken(token);
+        jwtUtil.extractUsername(token);
+        jwtUtil.validateToken(token, "testUser");
+
+        assertThat(jwtUtil.getTokenCache().getMisses()).isEqualTo(1);
+        assertThat(jwtUtil.getTokenCache().getHits()).isEqualTo(2);
+    }
+
+    @Test
+    void testTamperedTokenIsRejectedAndNotCached() {
+        String token = jwtUtil.generateToken("testUser");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(tampered));
+        assertThat(jwtUtil.getTokenCache().size()).isZero();
+    }
+
+    @Test
+    void testUserTokenCarriesIdAndRoles() {
+        User user = new User("testUser", "test@example.com", "secret");
+        user.setId(42L);
+        user.setRole("ADMIN");
+
+        VerifiedToken verified = jwtUtil.parseToken(jwtUtil.generateToken(user));
+
+        assertThat(verified.getUserId()).isEqualTo(42L);
+        assertThat(verified.getRoles()).containsExactly("ADMIN");
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OptimisticRetryTest {
+
+    @Test
+    void testRetriesUntilWriteWins() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = OptimisticRetry.run(3, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale version");
+            }
+            return "saved";
+        });
+
+        assertThat(result).isEqualTo("saved");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> OptimisticRetry.run(2, () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale version");
+        }));
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testOtherFailuresAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> OptimisticRetry.run(3, () -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Budget not found.");
+        }));
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+}
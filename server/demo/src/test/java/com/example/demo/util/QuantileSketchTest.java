@@ -0,0 +1,57 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantileSketchTest {
+
+    @Test
+    void testSmallSamplesAreExact() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double value : new double[]{40, 10, 30, 20, 50}) {
+            sketch.add(value);
+        }
+
+        assertThat(sketch.count()).isEqualTo(5);
+        assertThat(sketch.lowerQuartile()).isEqualTo(20.0);
+        assertThat(sketch.median()).isEqualTo(30.0);
+        assertThat(sketch.upperQuartile()).isEqualTo(40.0);
+    }
+
+    @Test
+    void testEstimatesQuartilesOfALongStream() {
+        Random random = new Random(42);
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add(random.nextDouble() * 1000);
+        }
+
+        assertThat(sketch.lowerQuartile()).isCloseTo(250.0, within(15.0));
+        assertThat(sketch.median()).isCloseTo(500.0, within(15.0));
+        assertThat(sketch.upperQuartile()).isCloseTo(750.0, within(15.0));
+    }
+
+    @Test
+    void testRoundTripsThroughBytes() {
+        Random random = new Random(7);
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < 500; i++) {
+            sketch.add(50 + random.nextGaussian() * 10);
+        }
+
+        byte[] bytes = sketch.toBytes();
+        QuantileSketch restored = QuantileSketch.fromBytes(bytes);
+        assertThat(bytes).hasSize(QuantileSketch.SERIALIZED_SIZE);
+        assertThat(restored.count()).isEqualTo(500);
+        assertThat(restored.median()).isEqualTo(sketch.median());
+
+        sketch.add(80);
+        restored.add(80);
+        assertThat(restored.upperQuartile()).isEqualTo(sketch.upperQuartile());
+        assertThat(restored.median()).isCloseTo(50.0, within(2.0));
+    }
+}